@@ -0,0 +1,58 @@
+package elevators;
+
+import java.util.Random;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * This class builds the seeded workloads shared by the benchmarks, so every run sees the same data.
+ */
+final class BenchmarkWorkloads {
+    // Seed of all benchmark workloads
+    static final long SEED = 42;
+
+    private BenchmarkWorkloads() {
+    }
+
+    /**
+     * Method to create a headless controller whose elevators already hold the given number of tasks.
+     *
+     * @param floors     The number of floors in the building
+     * @param elevators  The number of elevators
+     * @param queueDepth The number of tasks per elevator
+     * @param random     The random number generator of the workload
+     * @return The prepared controller
+     */
+    static ElevatorController controller(int floors, int elevators, int queueDepth, Random random) {
+        ElevatorController controller = new ElevatorController(elevators, floors, new LinkedBlockingQueue<>(), new VirtualClock());
+        controller.setConsoleOutput(false);
+        int passengerId = -1;
+        for (Elevator elevator : controller.getLiftList()) {
+            for (int i = 0; i < queueDepth; i++) {
+                ElementQueue.Purpose purpose = random.nextBoolean() ? ElementQueue.Purpose.Take : ElementQueue.Purpose.Deliver;
+                elevator.addRequest(random.nextInt(floors) + 1, passengerId--, purpose);
+            }
+        }
+        return controller;
+    }
+
+    /**
+     * Method to create an array of random requests.
+     *
+     * @param floors The number of floors in the building
+     * @param count  The number of requests
+     * @param random The random number generator of the workload
+     * @return The requests
+     */
+    static ElevatorRequest[] requests(int floors, int count, Random random) {
+        ElevatorRequest[] requests = new ElevatorRequest[count];
+        for (int i = 0; i < count; i++) {
+            int startFloor = random.nextInt(floors) + 1;
+            int targetFloor;
+            do {
+                targetFloor = random.nextInt(floors) + 1;
+            } while (targetFloor == startFloor);
+            requests[i] = new ElevatorRequest(startFloor, targetFloor, i);
+        }
+        return requests;
+    }
+}
@@ -0,0 +1,109 @@
+package elevators;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the controller hot paths: choosing an elevator, ingesting requests and a full tick.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DispatchBenchmark {
+    // Number of requests ingested by one invocation of the ingestion benchmark
+    private static final int BATCH = 1024;
+
+    @Param({"12", "50", "120"})
+    public int floors;
+
+    @Param({"2", "8", "32"})
+    public int elevators;
+
+    @Param({"0", "16", "256"})
+    public int queueDepth;
+
+    private ElevatorController controller; // Controller under test
+    private ElevatorRequest[] requests; // Seeded requests replayed by the benchmarks
+    private int nextRequest; // Index of the next request to use
+    private Random arrivals; // Decides whether a passenger arrives during a tick
+    private int arrivalPercent; // Chance of an arrival per tick, scaled to the size of the building
+
+    @Setup(Level.Trial)
+    public void setUpRequests() {
+        requests = BenchmarkWorkloads.requests(floors, BATCH, new Random(BenchmarkWorkloads.SEED));
+        // Roughly one new trip per elevator every "floors" ticks keeps the building busy but stable
+        arrivalPercent = Math.max(1, Math.min(100, 100 * elevators / floors));
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpController() {
+        controller = BenchmarkWorkloads.controller(floors, elevators, queueDepth, new Random(BenchmarkWorkloads.SEED));
+        arrivals = new Random(BenchmarkWorkloads.SEED);
+        nextRequest = 0;
+    }
+
+    /**
+     * Scoring every elevator for one request, without changing any state.
+     */
+    @Benchmark
+    public Elevator selectOptimalElevator() {
+        ElevatorRequest request = requests[nextRequest];
+        nextRequest = (nextRequest + 1) % BATCH;
+        return controller.selectOptimalElevator(request);
+    }
+
+    /**
+     * Ingesting a batch of requests into a freshly prepared controller.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void ingestRequests(IngestState state) {
+        for (ElevatorRequest request : requests) {
+            state.controller.dispatchRequest(request);
+        }
+    }
+
+    /**
+     * One full controller tick with a steady, seeded stream of arrivals.
+     */
+    @Benchmark
+    public void controllerTick() {
+        if (arrivals.nextInt(100) < arrivalPercent) {
+            ElevatorRequest request = requests[nextRequest];
+            nextRequest = (nextRequest + 1) % BATCH;
+            controller.requestBuffer.offer(new ElevatorRequest(request.getStartFloor(), request.getTargetFloor(), request.getPassengerId()));
+        }
+        controller.tick();
+    }
+
+    /**
+     * Fresh controller for every ingestion batch, so the queues do not grow across invocations.
+     */
+    @State(Scope.Thread)
+    public static class IngestState {
+        ElevatorController controller;
+
+        @Setup(Level.Invocation)
+        public void setUp(DispatchBenchmark benchmark) {
+            controller = BenchmarkWorkloads.controller(benchmark.floors, benchmark.elevators, benchmark.queueDepth,
+                    new Random(BenchmarkWorkloads.SEED));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package elevators;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the task queue operations used on every elevator step, for both implementations.
+ * Each benchmark keeps the queue at its configured depth.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskQueueBenchmark {
+    // Number of pre-generated random floors
+    private static final int FLOOR_SAMPLES = 4096;
+
+    @Param({"custom", "primitive"})
+    public String implementation;
+
+    @Param({"16", "256", "4096"})
+    public int queueDepth;
+
+    @Param({"12", "120"})
+    public int floors;
+
+    private TaskQueue queue; // Queue under test
+    private int[] randomFloors; // Seeded floors used by the benchmarks
+    private int next; // Index of the next floor to use
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        queue = implementation.equals("primitive") ? new PrimitiveTaskQueue() : new CustomPriorityQueue();
+        Random random = new Random(BenchmarkWorkloads.SEED);
+        randomFloors = new int[FLOOR_SAMPLES];
+        for (int i = 0; i < FLOOR_SAMPLES; i++) {
+            randomFloors[i] = random.nextInt(floors) + 1;
+        }
+        for (int i = 0; i < queueDepth; i++) {
+            add(i);
+        }
+        next = 0;
+    }
+
+    @Benchmark
+    public int peekFloor() {
+        return queue.peekFloor();
+    }
+
+    @Benchmark
+    public void updatePriorities() {
+        queue.updatePriorities(1);
+    }
+
+    @Benchmark
+    public boolean hasFloor() {
+        return queue.hasFloor(nextFloor());
+    }
+
+    @Benchmark
+    public ElementQueue addAndPoll() {
+        add(next);
+        return queue.poll();
+    }
+
+    /**
+     * Clearing a floor and adding back as many tasks as were removed.
+     */
+    @Benchmark
+    public int removeAllWithValueAndRefill() {
+        int sizeBefore = queue.size();
+        queue.removeAllWithValue(nextFloor());
+        int removed = sizeBefore - queue.size();
+        for (int i = 0; i < removed; i++) {
+            add(next + i);
+        }
+        return removed;
+    }
+
+    // Adds a task with a seeded floor and a priority derived from it
+    private void add(int passengerId) {
+        int floor = nextFloor();
+        queue.addElement(floor, floor, passengerId, ElementQueue.Purpose.Deliver);
+    }
+
+    // Returns the next seeded floor
+    private int nextFloor() {
+        int floor = randomFloors[next];
+        next = (next + 1) % FLOOR_SAMPLES;
+        return floor;
+    }
+}
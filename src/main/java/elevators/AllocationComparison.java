@@ -0,0 +1,127 @@
+package elevators;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Supplier;
+
+/**
+ * This class compares the memory allocated by the object-based and the primitive task queues.
+ * It replays the same seeded workload of the elevator step path (add, age, peek, check and clear a floor)
+ * against both implementations, then runs a headless simulation with each of them, and prints the number of
+ * bytes allocated by the current thread together with the garbage collections that happened meanwhile.
+ * Usage: {@code java elevators.AllocationComparison [operations] [floors]}
+ */
+public class AllocationComparison {
+    public static void main(String[] args) {
+        int operations = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        int floors = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+
+        System.out.println("Task queue workload: " + operations + " operations, " + floors + " floors");
+        // The first round only warms up the JIT, the second one is reported
+        for (int round = 0; round < 2; round++) {
+            boolean report = round == 1;
+            measure("CustomPriorityQueue", report, () -> runQueueWorkload(new CustomPriorityQueue(), operations, floors));
+            measure("PrimitiveTaskQueue", report, () -> runQueueWorkload(new PrimitiveTaskQueue(), operations, floors));
+        }
+
+        System.out.println("\nHeadless simulation: 24 h, " + floors + " floors, 8 elevators");
+        for (int round = 0; round < 2; round++) {
+            boolean report = round == 1;
+            measure("CustomPriorityQueue", report, () -> runSimulation(CustomPriorityQueue::new, floors));
+            measure("PrimitiveTaskQueue", report, () -> runSimulation(PrimitiveTaskQueue::new, floors));
+        }
+    }
+
+    /**
+     * Method to run a task and print the memory allocated by it.
+     *
+     * @param name   The name of the measured implementation
+     * @param report Whether the result should be printed
+     * @param task   The task to measure, returning the number of operations it performed
+     */
+    private static void measure(String name, boolean report, Supplier<Long> task) {
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long collectionsBefore = gcCount();
+        long gcTimeBefore = gcTime();
+        long bytesBefore = threadBean.getThreadAllocatedBytes(threadId);
+        long startNanos = System.nanoTime();
+
+        long performed = task.get();
+
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1000000;
+        long bytes = threadBean.getThreadAllocatedBytes(threadId) - bytesBefore;
+        if (report) {
+            System.out.printf("  %-20s %,15d bytes  %8.2f bytes/op  %4d GCs (%d ms)  %6d ms%n",
+                    name, bytes, (double) bytes / performed, gcCount() - collectionsBefore, gcTime() - gcTimeBefore, elapsedMillis);
+        }
+    }
+
+    /**
+     * Method to replay the elevator step path against a task queue.
+     *
+     * @param queue      The queue under test
+     * @param operations The number of steps to perform
+     * @param floors     The number of floors in the building
+     * @return The number of performed steps
+     */
+    private static long runQueueWorkload(TaskQueue queue, int operations, int floors) {
+        Random random = new Random(42);
+        int currentFloor = 1;
+        long checksum = 0;
+        for (int i = 0; i < operations; i++) {
+            if (random.nextInt(3) == 0) {
+                int floor = random.nextInt(floors) + 1;
+                ElementQueue.Purpose purpose = (i & 1) == 0 ? ElementQueue.Purpose.Take : ElementQueue.Purpose.Deliver;
+                queue.addElement(purpose.ordinal() + Math.abs(currentFloor - floor), floor, i, purpose);
+            }
+            if (queue.isEmpty()) {
+                continue;
+            }
+            queue.updatePriorities(1);
+            int target = queue.peekFloor();
+            currentFloor += Integer.compare(target, currentFloor);
+            if (queue.hasFloor(currentFloor)) {
+                queue.removeAllWithValue(currentFloor);
+            }
+            checksum += queue.size();
+        }
+        return checksum >= 0 ? operations : 0;
+    }
+
+    /**
+     * Method to run a headless simulation with the given task queues.
+     *
+     * @param taskQueueFactory The factory of the task queues
+     * @param floors           The number of floors in the building
+     * @return The number of processed events
+     */
+    private static long runSimulation(Supplier<TaskQueue> taskQueueFactory, int floors) {
+        LinkedBlockingQueue<ElevatorRequest> requestBuffer = new LinkedBlockingQueue<>();
+        ElevatorController controller = new ElevatorController(8, floors, requestBuffer, new VirtualClock());
+        controller.setTaskQueueFactory(taskQueueFactory);
+        DiscreteEventSimulation simulation = new DiscreteEventSimulation(controller, new RequestGenerator(floors, requestBuffer, 42));
+        simulation.run(24L * 3600 * 1000);
+        return simulation.getProcessedEvents();
+    }
+
+    // Total number of collections of all garbage collectors
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, bean.getCollectionCount());
+        }
+        return count;
+    }
+
+    // Total time spent in all garbage collectors
+    private static long gcTime() {
+        long time = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(0, bean.getCollectionTime());
+        }
+        return time;
+    }
+}
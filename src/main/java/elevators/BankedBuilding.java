@@ -0,0 +1,267 @@
+package elevators;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * This class represents a tall building whose elevators are split into banks.
+ * Every bank is a separate {@link ElevatorController} whose cars serve only some floors: a low-rise bank,
+ * a high-rise bank which runs express from the lobby, or a shuttle to a sky lobby where passengers change
+ * to the local bank of the upper part of the tower. A trip which no single bank serves is split into legs,
+ * each handled by one bank, with a transfer between two banks on a floor both of them serve.
+ * Routes use the fewest legs; among banks serving the same legs, the bank added first is preferred.
+ * {@link BankedSimulation} runs the banks of a building as independent simulations.
+ */
+public class BankedBuilding {
+    private final int totalFloors; // Total number of floors in the building
+    private final List<ElevatorController> banks = new ArrayList<>(); // Controllers of the banks
+    private final List<int[]> servedFloors = new ArrayList<>(); // Sorted served floors of each bank
+    private long transferMillis = 15000; // Time to walk from one bank to another at a transfer floor
+    private int[][] routes; // Cached routes by start * (totalFloors + 1) + target, or null until the first route
+
+    /**
+     * Constructor to create a building without elevators.
+     *
+     * @param totalFloors The total number of floors
+     */
+    public BankedBuilding(int totalFloors) {
+        if (totalFloors < 2) {
+            throw new IllegalArgumentException("A building needs at least two floors: " + totalFloors);
+        }
+        this.totalFloors = totalFloors;
+    }
+
+    /**
+     * Method to create a building from a description of its banks, separated by semicolons.
+     * Every bank is written as {@code floors:cars}, where the floors are a comma-separated list of floors and
+     * ranges, for example {@code 1-20:4;1,21:2;21-40:4} for a low-rise bank, a shuttle from the lobby to the
+     * sky lobby on floor 21 and a local bank above it. The building is as high as the highest served floor.
+     *
+     * @param topology The description of the banks
+     * @return The new building
+     */
+    public static BankedBuilding parse(String topology) {
+        List<int[]> floorLists = new ArrayList<>();
+        List<Integer> carCounts = new ArrayList<>();
+        int highest = 0;
+        for (String bank : topology.split(";")) {
+            int colon = bank.indexOf(':');
+            if (colon < 0) {
+                throw new IllegalArgumentException("Expected floors:cars in bank '" + bank + "'");
+            }
+            List<Integer> floors = new ArrayList<>();
+            for (String part : bank.substring(0, colon).split(",")) {
+                String trimmed = part.trim();
+                int dash = trimmed.indexOf('-');
+                int first = Integer.parseInt(dash < 0 ? trimmed : trimmed.substring(0, dash).trim());
+                int last = dash < 0 ? first : Integer.parseInt(trimmed.substring(dash + 1).trim());
+                for (int floor = first; floor <= last; floor++) {
+                    floors.add(floor);
+                    highest = Math.max(highest, floor);
+                }
+            }
+            int[] floorArray = new int[floors.size()];
+            for (int i = 0; i < floorArray.length; i++) {
+                floorArray[i] = floors.get(i);
+            }
+            floorLists.add(floorArray);
+            carCounts.add(Integer.parseInt(bank.substring(colon + 1).trim()));
+        }
+        BankedBuilding building = new BankedBuilding(highest);
+        for (int i = 0; i < floorLists.size(); i++) {
+            building.addBank(carCounts.get(i), floorLists.get(i));
+        }
+        return building;
+    }
+
+    /**
+     * Method to add a bank of cars serving the given floors, driven by its own virtual clock.
+     * The returned controller can be configured like the controller of a single group.
+     *
+     * @param cars   The number of cars of the bank
+     * @param floors The floors served by the bank
+     * @return The controller of the new bank
+     */
+    public ElevatorController addBank(int cars, int... floors) {
+        ElevatorController bank = new ElevatorController(cars, totalFloors, new LinkedBlockingQueue<>(), new VirtualClock());
+        bank.setServedFloors(floors);
+        int[] sorted = Arrays.stream(floors).distinct().sorted().toArray();
+        banks.add(bank);
+        servedFloors.add(sorted);
+        routes = null;
+        return bank;
+    }
+
+    // Getter for totalFloors
+    public int getTotalFloors() {
+        return totalFloors;
+    }
+
+    // Getter for banks
+    public List<ElevatorController> getBanks() {
+        return banks;
+    }
+
+    // Getter for transferMillis
+    public long getTransferMillis() {
+        return transferMillis;
+    }
+
+    // Setter for transferMillis
+    public void setTransferMillis(long transferMillis) {
+        this.transferMillis = Math.max(0, transferMillis);
+    }
+
+    /**
+     * Method to describe a bank with its number of cars and served floors.
+     *
+     * @param bank The index of the bank
+     * @return A description such as "4 cars, floors 1, 21-40"
+     */
+    public String describeBank(int bank) {
+        int[] floors = servedFloors.get(bank);
+        StringBuilder description = new StringBuilder();
+        description.append(banks.get(bank).getLiftList().size()).append(" cars, floors ");
+        for (int i = 0; i < floors.length; i++) {
+            int first = floors[i];
+            while (i + 1 < floors.length && floors[i + 1] == floors[i] + 1) {
+                ++i;
+            }
+            if (first != floors[0]) {
+                description.append(", ");
+            }
+            description.append(first);
+            if (floors[i] != first) {
+                description.append('-').append(floors[i]);
+            }
+        }
+        return description.toString();
+    }
+
+    /**
+     * Method to split a request into the legs of its route. The request itself becomes the first leg:
+     * its target is changed to the first transfer floor, and every leg links to the next one. All legs
+     * get the bank serving them and the creation time of the request as the start of the trip.
+     *
+     * @param request The request of a passenger
+     * @return The first leg, which is the given request
+     * @throws IllegalArgumentException If no combination of banks connects the start and the target floor
+     */
+    public ElevatorRequest route(ElevatorRequest request) {
+        int start = request.getStartFloor();
+        int target = request.getTargetFloor();
+        int[] legs = routeFor(start, target);
+        long createdMillis = request.getCreatedMillis();
+        request.setBank(legs[0]);
+        request.setTripCreatedMillis(createdMillis);
+        request.setNextLeg(null);
+        ElevatorRequest previous = request;
+        for (int i = 2; i < legs.length; i += 2) {
+            previous.setTargetFloor(legs[i - 1]);
+            ElevatorRequest leg = new ElevatorRequest(legs[i - 1], i + 1 < legs.length ? legs[i + 1] : target, request.getPassengerId());
+            leg.setWeightKg(request.getWeightKg());
+            leg.setBank(legs[i]);
+            leg.setTripCreatedMillis(createdMillis);
+            previous.setNextLeg(leg);
+            previous = leg;
+        }
+        return request;
+    }
+
+    /**
+     * Method to get the route between two floors from the cache, finding it on first use.
+     *
+     * @param start  The start floor
+     * @param target The target floor
+     * @return The banks and transfer floors: bank, floor, bank, ..., bank
+     */
+    private int[] routeFor(int start, int target) {
+        if (start < 1 || start > totalFloors || target < 1 || target > totalFloors || start == target) {
+            throw new IllegalArgumentException("Invalid trip " + start + " -> " + target);
+        }
+        if (routes == null) {
+            routes = new int[(totalFloors + 1) * (totalFloors + 1)][];
+        }
+        int key = start * (totalFloors + 1) + target;
+        if (routes[key] == null) {
+            routes[key] = findRoute(start, target);
+        }
+        return routes[key];
+    }
+
+    /**
+     * Method to find the route with the fewest legs by a breadth-first search over the banks.
+     * Between two banks the passenger changes on the shared floor closest to the target.
+     *
+     * @param start  The start floor
+     * @param target The target floor
+     * @return The banks and transfer floors: bank, floor, bank, ..., bank
+     */
+    private int[] findRoute(int start, int target) {
+        int count = banks.size();
+        int[] parent = new int[count]; // Bank before each reached bank, -2 for a first bank, -1 if not reached
+        int[] entry = new int[count]; // Floor where the passenger enters each reached bank
+        int[] queue = new int[count];
+        int head = 0;
+        int tail = 0;
+        Arrays.fill(parent, -1);
+        for (int bank = 0; bank < count; bank++) {
+            if (banks.get(bank).serves(start)) {
+                parent[bank] = -2;
+                entry[bank] = start;
+                queue[tail++] = bank;
+            }
+        }
+        while (head < tail) {
+            int bank = queue[head++];
+            if (banks.get(bank).serves(target)) {
+                int legs = 1;
+                for (int previous = parent[bank]; previous >= 0; previous = parent[previous]) {
+                    ++legs;
+                }
+                int[] route = new int[legs * 2 - 1];
+                for (int i = route.length - 1, current = bank; i >= 0; i -= 2, current = parent[current]) {
+                    route[i] = current;
+                    if (i > 0) {
+                        route[i - 1] = entry[current];
+                    }
+                }
+                return route;
+            }
+            for (int next = 0; next < count; next++) {
+                if (parent[next] != -1) {
+                    continue;
+                }
+                int transfer = transferFloor(bank, next, entry[bank], target);
+                if (transfer > 0) {
+                    parent[next] = bank;
+                    entry[next] = transfer;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        throw new IllegalArgumentException("No banks connect floor " + start + " to floor " + target);
+    }
+
+    /**
+     * Method to choose where a passenger changes from one bank to another.
+     *
+     * @param from   The bank the passenger rides
+     * @param to     The bank the passenger changes to
+     * @param entry  The floor where the passenger entered the first bank
+     * @param target The target floor of the trip
+     * @return The shared floor closest to the target other than the entry floor, or -1 if the banks share none
+     */
+    private int transferFloor(int from, int to, int entry, int target) {
+        int best = -1;
+        for (int floor : servedFloors.get(from)) {
+            if (floor != entry && banks.get(to).serves(floor)
+                    && (best < 0 || Math.abs(floor - target) < Math.abs(best - target))) {
+                best = floor;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,210 @@
+package elevators;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class runs the banks of a {@link BankedBuilding} as discrete-event simulations in parallel.
+ * Every bank has its own controller, virtual clock and event queue, and the banks only interact through
+ * passengers changing cars, who need {@link BankedBuilding#getTransferMillis()} to walk to the next bank.
+ * The simulation therefore advances in windows no longer than the transfer time: within a window the banks
+ * run independently, on the executor if one is set, and the transfers made in a window always arrive after it,
+ * so they are handed to their banks between windows. Arrivals from the request source are routed and handed
+ * out the same way. The results do not depend on the number of threads.
+ */
+public class BankedSimulation {
+    private final BankedBuilding building; // The simulated building
+    private final RequestSource source; // Source of passenger trips through the whole building
+    private final DiscreteEventSimulation[] simulations; // Simulation of each bank
+    private final List<List<ElevatorRequest>> transfers; // Legs started by passengers leaving each bank in the current window
+    private final List<Callable<Void>> bankTasks; // Tasks running each bank to the end of the current window
+    private final LatencyHistogram journey = new LatencyHistogram(); // Times from the request until the end of the last leg
+    private final LongAdder completedTrips = new LongAdder(); // Number of passengers who reached their target
+    private ExecutorService executor; // Executor running the banks in parallel, or null to run them in turn
+    private long time; // Simulated time reached by all banks
+    private long windowEnd; // End of the window being simulated
+    private long nextArrivalMillis = -1; // Time of the next trip from the source, or -1 at the end of the source
+    private boolean started; // Whether the first arrival has been taken from the source
+    private long arrivals; // Number of trips taken from the source
+    private long transferCount; // Number of transfers between banks
+
+    /**
+     * Constructor to create the simulation of a building. It observes the deliveries of every bank,
+     * replacing any delivery listener set before.
+     *
+     * @param building The building, whose banks have not run yet
+     * @param source   The source of passenger trips
+     */
+    public BankedSimulation(BankedBuilding building, RequestSource source) {
+        this.building = building;
+        this.source = source;
+        List<ElevatorController> banks = building.getBanks();
+        simulations = new DiscreteEventSimulation[banks.size()];
+        transfers = new ArrayList<>(banks.size());
+        bankTasks = new ArrayList<>(banks.size());
+        for (int i = 0; i < banks.size(); i++) {
+            int bank = i;
+            simulations[i] = new DiscreteEventSimulation(banks.get(i), null);
+            transfers.add(new ArrayList<>());
+            banks.get(i).setDeliveryListener(request -> delivered(bank, request));
+            bankTasks.add(() -> {
+                simulations[bank].runUntil(windowEnd);
+                return null;
+            });
+        }
+    }
+
+    // Getter for building
+    public BankedBuilding getBuilding() {
+        return building;
+    }
+
+    /**
+     * Method to run the banks on an executor, or in turn on the calling thread with null.
+     * The executor is owned by the caller, who is responsible for shutting it down.
+     *
+     * @param executor The executor, or null
+     */
+    public void setExecutor(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    // Getter for the simulation of a bank
+    public DiscreteEventSimulation getSimulation(int bank) {
+        return simulations[bank];
+    }
+
+    // Getter for the journey times of all completed trips
+    public LatencyHistogram getJourney() {
+        return journey;
+    }
+
+    // Getter for arrivals
+    public long getArrivals() {
+        return arrivals;
+    }
+
+    // Getter for the number of transfers between banks
+    public long getTransfers() {
+        return transferCount;
+    }
+
+    // Getter for completedTrips
+    public long getCompletedTrips() {
+        return completedTrips.sum();
+    }
+
+    /**
+     * Method to get the number of events handled by all banks.
+     *
+     * @return The sum of the processed events of every bank
+     */
+    public long getProcessedEvents() {
+        long events = 0;
+        for (DiscreteEventSimulation simulation : simulations) {
+            events += simulation.getProcessedEvents();
+        }
+        return events;
+    }
+
+    /**
+     * Method to run the building for the specified amount of simulated time.
+     * The method may be called repeatedly to continue the same simulation.
+     *
+     * @param durationMillis The simulated time to run in milliseconds
+     * @throws InterruptedException If the calling thread is interrupted while the banks run on the executor
+     */
+    public void run(long durationMillis) throws InterruptedException {
+        long endTime = time + durationMillis;
+        if (!started) {
+            started = true;
+            long interval = source.nextIntervalMillis();
+            nextArrivalMillis = interval < 0 ? -1 : time + interval;
+        }
+        long window = Math.max(1, building.getTransferMillis());
+        while (time < endTime) {
+            windowEnd = Math.min(endTime, time + window);
+            scheduleArrivals();
+            runBanks();
+            scheduleTransfers();
+            time = windowEnd;
+        }
+    }
+
+    /**
+     * Method to route the trips arriving until the end of the window and hand their first legs to the banks.
+     */
+    private void scheduleArrivals() {
+        while (nextArrivalMillis >= 0 && nextArrivalMillis <= windowEnd) {
+            ElevatorRequest request = source.nextRequest();
+            request.setCreatedMillis(nextArrivalMillis);
+            ElevatorRequest leg = building.route(request);
+            simulations[leg.getBank()].scheduleRequest(leg, nextArrivalMillis);
+            ++arrivals;
+            long interval = source.nextIntervalMillis();
+            nextArrivalMillis = interval < 0 ? -1 : nextArrivalMillis + interval;
+        }
+    }
+
+    /**
+     * Method to run every bank to the end of the window.
+     *
+     * @throws InterruptedException If the calling thread is interrupted while waiting for the banks
+     */
+    private void runBanks() throws InterruptedException {
+        if (executor == null || simulations.length == 1) {
+            for (DiscreteEventSimulation simulation : simulations) {
+                simulation.runUntil(windowEnd);
+            }
+            return;
+        }
+        for (Future<Void> future : executor.invokeAll(bankTasks)) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IllegalStateException("Error simulating a bank", cause);
+            }
+        }
+    }
+
+    /**
+     * Method to hand the legs of the passengers who changed cars in this window to their next banks,
+     * in the order of the banks they left.
+     */
+    private void scheduleTransfers() {
+        for (List<ElevatorRequest> legs : transfers) {
+            for (ElevatorRequest leg : legs) {
+                simulations[leg.getBank()].scheduleRequest(leg, Math.max(leg.getCreatedMillis(), windowEnd));
+                ++transferCount;
+            }
+            legs.clear();
+        }
+    }
+
+    /**
+     * Method called by a bank when a passenger leaves a car, on the thread running that bank.
+     *
+     * @param bank    The index of the bank
+     * @param request The delivered leg
+     */
+    private void delivered(int bank, ElevatorRequest request) {
+        long now = building.getBanks().get(bank).getClock().currentTimeMillis();
+        ElevatorRequest next = request.getNextLeg();
+        if (next != null) {
+            next.setCreatedMillis(now + building.getTransferMillis());
+            transfers.get(bank).add(next);
+        } else {
+            journey.recordValue(now - request.getTripCreatedMillis());
+            completedTrips.increment();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package elevators;
+
+/**
+ * This class publishes the state of one car as a JMX MBean.
+ * The values are read from the car without locking, so they may be one step old but never block the car.
+ */
+public class CarMetrics implements CarMetricsMBean {
+    private final Elevator elevator; // The observed car
+
+    /**
+     * Constructor to initialize the metrics of a car.
+     *
+     * @param elevator The observed car
+     */
+    public CarMetrics(Elevator elevator) {
+        this.elevator = elevator;
+    }
+
+    @Override
+    public int getCurrentFloor() {
+        return elevator.getCurrentFloor();
+    }
+
+    @Override
+    public String getMotionState() {
+        return String.valueOf(elevator.getMotionState());
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return elevator.getTaskQueue().size();
+    }
+
+    @Override
+    public int getLoad() {
+        return elevator.getLoad();
+    }
+
+    @Override
+    public long getTripsCompleted() {
+        return elevator.getDeliveredPassengers();
+    }
+
+    @Override
+    public long getTravelledFloors() {
+        return elevator.getTravelledFloors();
+    }
+}
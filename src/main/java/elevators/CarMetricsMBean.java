@@ -0,0 +1,24 @@
+package elevators;
+
+/**
+ * Management interface exposing the live state of one car over JMX.
+ */
+public interface CarMetricsMBean {
+    // Floor the car is on
+    int getCurrentFloor();
+
+    // Direction of motion of the car: UP, DOWN or IDLE
+    String getMotionState();
+
+    // Number of tasks in the queue of the car
+    int getQueueDepth();
+
+    // Number of passengers on board
+    int getLoad();
+
+    // Number of passengers delivered by the car
+    long getTripsCompleted();
+
+    // Number of floors the car has travelled
+    long getTravelledFloors();
+}
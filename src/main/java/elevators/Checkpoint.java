@@ -0,0 +1,189 @@
+package elevators;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * This class saves the complete state of a discrete-event simulation into a compact binary checkpoint and
+ * restores it, so several runs can start from one warmed-up state instead of simulating the warm-up again.
+ * A checkpoint holds the clock, the pending events, the cars with their task queues and passengers on board,
+ * the people waiting on the floors and in the request buffer, the demand learned by {@link PredictiveParking},
+ * and the state of the request source including its random number generator. The configuration of the controller
+ * is not saved: restore into a new simulation of the same building, set up with the settings the run should continue with.
+ * Task queues are compacted when saved, so a restored run continues exactly like the saved one.
+ */
+public final class Checkpoint {
+    // Magic number at the start of every checkpoint, "ECKP"
+    private static final int MAGIC = 0x45434B50;
+    // Version of the checkpoint layout
+    private static final int VERSION = 4;
+
+    private Checkpoint() {
+    }
+
+    /**
+     * Method to save the state of a simulation into a file.
+     *
+     * @param simulation The simulation, whose request source must be {@link Checkpointable}
+     * @param path       The checkpoint file, replaced if it exists
+     * @throws IOException If the file cannot be written
+     */
+    public static void save(DiscreteEventSimulation simulation, Path path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16))) {
+            save(simulation, out);
+        }
+    }
+
+    /**
+     * Method to save the state of a simulation into memory, for example to fork several runs from it.
+     *
+     * @param simulation The simulation, whose request source must be {@link Checkpointable}
+     * @return The checkpoint
+     */
+    public static byte[] saveToBytes(DiscreteEventSimulation simulation) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            save(simulation, out);
+        } catch (IOException e) {
+            throw new IllegalStateException("Error writing checkpoint to memory", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Method to restore a simulation from a file.
+     *
+     * @param simulation A newly created simulation of the same building which has not run yet
+     * @param path       The checkpoint file
+     * @throws IOException If the file cannot be read or does not fit the simulation
+     */
+    public static void restore(DiscreteEventSimulation simulation, Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            restore(simulation, in);
+        }
+    }
+
+    /**
+     * Method to restore a simulation from a checkpoint in memory.
+     *
+     * @param simulation A newly created simulation of the same building which has not run yet
+     * @param checkpoint The checkpoint created by {@link #saveToBytes(DiscreteEventSimulation)}
+     * @throws IOException If the checkpoint does not fit the simulation
+     */
+    public static void restore(DiscreteEventSimulation simulation, byte[] checkpoint) throws IOException {
+        restore(simulation, new DataInputStream(new ByteArrayInputStream(checkpoint)));
+    }
+
+    // Writes the header and the state of all parts of the simulation
+    private static void save(DiscreteEventSimulation simulation, DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        simulation.getController().writeState(out);
+        simulation.writeState(out);
+        sourceOf(simulation).writeState(out);
+    }
+
+    // Checks the header and reads the state of all parts of the simulation
+    private static void restore(DiscreteEventSimulation simulation, DataInput in) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IOException("Not a checkpoint of version " + VERSION);
+        }
+        simulation.getController().readState(in);
+        simulation.readState(in);
+        sourceOf(simulation).readState(in);
+    }
+
+    // Returns the request source of a simulation if it can be saved
+    private static Checkpointable sourceOf(DiscreteEventSimulation simulation) {
+        if (!(simulation.getRequestSource() instanceof Checkpointable)) {
+            throw new IllegalArgumentException("Request source cannot be saved: " + simulation.getRequestSource().getClass().getSimpleName());
+        }
+        return (Checkpointable) simulation.getRequestSource();
+    }
+
+    /**
+     * Method to write a request with its assignment and timestamps.
+     *
+     * @param out     The stream to write to
+     * @param request The request
+     * @throws IOException If the stream cannot be written
+     */
+    static void writeRequest(DataOutput out, ElevatorRequest request) throws IOException {
+        out.writeInt(request.getStartFloor());
+        out.writeInt(request.getTargetFloor());
+        out.writeInt(request.getPassengerId());
+        out.writeInt(request.getAssignedElevator());
+        out.writeInt(request.getWeightKg());
+        out.writeLong(request.getCreatedMillis());
+        out.writeLong(request.getDispatchedMillis());
+        out.writeLong(request.getBoardedMillis());
+    }
+
+    /**
+     * Method to read a request written by {@link #writeRequest(DataOutput, ElevatorRequest)}
+     * and check it against the building it is restored into.
+     *
+     * @param in         The stream to read from
+     * @param controller The controller the request is restored into
+     * @return The request
+     * @throws IOException If the stream cannot be read or the request does not fit the building
+     */
+    static ElevatorRequest readRequest(DataInput in, ElevatorController controller) throws IOException {
+        int floors = controller.getTotalFloors();
+        int startFloor = readInt(in, "start floor", 1, floors);
+        int targetFloor = readInt(in, "target floor", 1, floors);
+        ElevatorRequest request = new ElevatorRequest(startFloor, targetFloor, in.readInt());
+        request.setAssignedElevator(readInt(in, "assigned elevator", -1, controller.getLiftList().size() - 1));
+        request.setWeightKg(readInt(in, "weight", 0, Integer.MAX_VALUE));
+        request.setCreatedMillis(in.readLong());
+        request.setDispatchedMillis(in.readLong());
+        request.setBoardedMillis(in.readLong());
+        return request;
+    }
+
+    /**
+     * Method to skip a part of a checkpoint which the restored simulation does not use.
+     *
+     * @param in    The stream to read from
+     * @param bytes The length of the part
+     * @throws IOException If the stream ends before the part does
+     */
+    static void skip(DataInput in, long bytes) throws IOException {
+        while (bytes > 0) {
+            int skipped = in.skipBytes((int) Math.min(bytes, Integer.MAX_VALUE));
+            if (skipped <= 0) {
+                // Fails with an EOFException at the end of the stream
+                in.readByte();
+                skipped = 1;
+            }
+            bytes -= skipped;
+        }
+    }
+
+    /**
+     * Method to read a number, such as a floor, an ordinal or a count, and check that it lies in a range.
+     *
+     * @param in   The stream to read from
+     * @param name The name of the number in the error message
+     * @param min  The smallest valid value
+     * @param max  The largest valid value
+     * @return The number
+     * @throws IOException If the stream cannot be read or the number is out of range
+     */
+    static int readInt(DataInput in, String name, int min, int max) throws IOException {
+        int value = in.readInt();
+        if (value < min || value > max) {
+            throw new IOException("Invalid " + name + " " + value + " in checkpoint, expected " + min + " to " + max);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,28 @@
+package elevators;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Interface for the parts of a simulation whose state can be saved in a {@link Checkpoint} and restored later.
+ * Only the changing state is saved; the configuration, such as the dispatch strategy or the car capacity,
+ * is set up by the caller before restoring, so one checkpoint can be continued with different settings.
+ */
+public interface Checkpointable {
+    /**
+     * Method to write the current state.
+     *
+     * @param out The stream to write to
+     * @throws IOException If the stream cannot be written
+     */
+    void writeState(DataOutput out) throws IOException;
+
+    /**
+     * Method to replace the current state with a state written by {@link #writeState(DataOutput)}.
+     *
+     * @param in The stream to read from
+     * @throws IOException If the stream cannot be read or does not fit this object
+     */
+    void readState(DataInput in) throws IOException;
+}
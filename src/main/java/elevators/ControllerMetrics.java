@@ -0,0 +1,284 @@
+package elevators;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class publishes counters and gauges of an elevator controller over JMX and in the Prometheus text format.
+ * The controller only bumps counters and records tick durations, which never takes a lock; every other value is
+ * read from the controller when a monitoring client asks for it, so reads may be one tick old but never block
+ * the tick loop.
+ */
+public class ControllerMetrics implements ControllerMetricsMBean {
+    // Domain of the JMX object names
+    public static final String JMX_DOMAIN = "elevators";
+
+    private final ElevatorController controller; // The observed controller
+    private final LatencyHistogram tickMicros = new LatencyHistogram(); // Durations of the ticks in microseconds
+    private final LongAdder dispatchedRequests = new LongAdder(); // Number of requests dispatched to a floor
+    private volatile long lastTickMicros; // Duration of the last tick in microseconds
+    private volatile long idleWaits; // Number of idle waits, only changed by the controller thread
+    private volatile long idleMillis; // Time spent in idle waits, only changed by the controller thread
+    private volatile long reassignedCalls; // Hall calls moved to another car, only changed by the controller thread
+    private volatile long cancelledTakes; // Pickups dropped because the passenger boarded another car, only changed by the controller thread
+    private volatile long parkingMoves; // Idle cars sent to a parking floor, only changed by the controller thread
+    private final List<ObjectName> registeredNames = new ArrayList<>(); // Names registered with the MBean server
+
+    /**
+     * Constructor to initialize the metrics of a controller.
+     *
+     * @param controller The observed controller
+     */
+    public ControllerMetrics(ElevatorController controller) {
+        this.controller = controller;
+    }
+
+    /**
+     * Method to record the duration of one tick of the controller.
+     *
+     * @param nanos The duration in nanoseconds
+     */
+    void recordTick(long nanos) {
+        lastTickMicros = nanos / 1000;
+        tickMicros.recordValue(nanos / 1000);
+    }
+
+    // Counts a wait of the main loop for a request while the building was idle
+    void recordIdleWait(long millis) {
+        idleWaits = idleWaits + 1;
+        idleMillis = idleMillis + millis;
+    }
+
+    // Counts a hall call moved to another car
+    void recordReassignment() {
+        reassignedCalls = reassignedCalls + 1;
+    }
+
+    // Counts a pickup dropped because the passenger boarded another car
+    void recordCancelledTake() {
+        cancelledTakes = cancelledTakes + 1;
+    }
+
+    // Counts an idle car sent to a parking floor
+    void recordParkingMove() {
+        parkingMoves = parkingMoves + 1;
+    }
+
+    // Counts a request put on its floor
+    void recordDispatch() {
+        dispatchedRequests.increment();
+    }
+
+    @Override
+    public int getBacklogDepth() {
+        return controller.requestBuffer.size();
+    }
+
+    @Override
+    public int getMaxBacklogDepth() {
+        return controller.getMaxBacklogDepth();
+    }
+
+    @Override
+    public int getWaitingPassengers() {
+        FloorBuffers floorBuffers = controller.getFloorBuffers();
+        int waiting = 0;
+        for (int floor = 1; floor <= floorBuffers.getTotalFloors(); floor++) {
+            waiting += floorBuffers.waitingCount(floor);
+        }
+        return waiting;
+    }
+
+    @Override
+    public int[] getWaitingByFloor() {
+        FloorBuffers floorBuffers = controller.getFloorBuffers();
+        int[] waiting = new int[floorBuffers.getTotalFloors()];
+        for (int floor = 1; floor <= waiting.length; floor++) {
+            waiting[floor - 1] = floorBuffers.waitingCount(floor);
+        }
+        return waiting;
+    }
+
+    @Override
+    public int getDeferredRequests() {
+        return controller.getDeferredRequestCount();
+    }
+
+    @Override
+    public long getDispatchedRequests() {
+        return dispatchedRequests.sum();
+    }
+
+    @Override
+    public long getTripsCompleted() {
+        long trips = 0;
+        for (Elevator elevator : controller.getLiftList()) {
+            trips += elevator.getDeliveredPassengers();
+        }
+        return trips;
+    }
+
+    @Override
+    public long getTicks() {
+        return tickMicros.getTotalCount();
+    }
+
+    @Override
+    public long getLastTickMicros() {
+        return lastTickMicros;
+    }
+
+    @Override
+    public long getTickP99Micros() {
+        return tickMicros.getValueAtPercentile(99);
+    }
+
+    @Override
+    public long getMaxTickMicros() {
+        return tickMicros.getMaxValue();
+    }
+
+    @Override
+    public long getIdleWaits() {
+        return idleWaits;
+    }
+
+    @Override
+    public long getIdleMillis() {
+        return idleMillis;
+    }
+
+    @Override
+    public long getReassignedCalls() {
+        return reassignedCalls;
+    }
+
+    @Override
+    public long getCancelledTakes() {
+        return cancelledTakes;
+    }
+
+    @Override
+    public long getParkingMoves() {
+        return parkingMoves;
+    }
+
+    /**
+     * Method to register the controller and one MBean per car with the platform MBean server.
+     *
+     * @throws JMException If a name is invalid or already registered
+     */
+    public void registerMBeans() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName controllerName = new ObjectName(JMX_DOMAIN + ":type=Controller");
+        server.registerMBean(this, controllerName);
+        registeredNames.add(controllerName);
+        for (Elevator elevator : controller.getLiftList()) {
+            ObjectName carName = new ObjectName(JMX_DOMAIN + ":type=Car,car=" + elevator.getElevatorNumber());
+            server.registerMBean(new CarMetrics(elevator), carName);
+            registeredNames.add(carName);
+        }
+    }
+
+    /**
+     * Method to remove all MBeans registered by {@link #registerMBeans()}.
+     *
+     * @throws JMException If an MBean cannot be removed
+     */
+    public void unregisterMBeans() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (ObjectName name : registeredNames) {
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        }
+        registeredNames.clear();
+    }
+
+    /**
+     * Method to write all metrics in the Prometheus text exposition format.
+     *
+     * @param out The builder to append to
+     */
+    public void writePrometheus(StringBuilder out) {
+        header(out, "elevator_request_backlog", "gauge", "Requests waiting in the request buffer");
+        out.append("elevator_request_backlog ").append(getBacklogDepth()).append('\n');
+        header(out, "elevator_request_backlog_max", "gauge", "Largest backlog of the request buffer after a tick");
+        out.append("elevator_request_backlog_max ").append(getMaxBacklogDepth()).append('\n');
+        header(out, "elevator_deferred_requests", "gauge", "Passengers waiting for a car with free room");
+        out.append("elevator_deferred_requests ").append(getDeferredRequests()).append('\n');
+        header(out, "elevator_requests_dispatched_total", "counter", "Requests dispatched to a floor");
+        out.append("elevator_requests_dispatched_total ").append(getDispatchedRequests()).append('\n');
+
+        header(out, "elevator_hall_calls_reassigned_total", "counter", "Hall calls moved to a car arriving earlier");
+        out.append("elevator_hall_calls_reassigned_total ").append(reassignedCalls).append('\n');
+        header(out, "elevator_pickups_cancelled_total", "counter", "Pickups dropped because the passenger boarded another car");
+        out.append("elevator_pickups_cancelled_total ").append(cancelledTakes).append('\n');
+        header(out, "elevator_parking_moves_total", "counter", "Idle cars sent to the floors where calls are expected");
+        out.append("elevator_parking_moves_total ").append(parkingMoves).append('\n');
+
+        header(out, "elevator_floor_waiting", "gauge", "Passengers waiting on a floor");
+        int[] waiting = getWaitingByFloor();
+        for (int i = 0; i < waiting.length; i++) {
+            out.append("elevator_floor_waiting{floor=\"").append(i + 1).append("\"} ").append(waiting[i]).append('\n');
+        }
+
+        List<Elevator> cars = controller.getLiftList();
+        header(out, "elevator_car_queue_depth", "gauge", "Tasks in the queue of a car");
+        for (Elevator car : cars) {
+            sample(out, "elevator_car_queue_depth", car, car.getTaskQueue().size());
+        }
+        header(out, "elevator_car_floor", "gauge", "Floor a car is on");
+        for (Elevator car : cars) {
+            sample(out, "elevator_car_floor", car, car.getCurrentFloor());
+        }
+        header(out, "elevator_car_load", "gauge", "Passengers on board of a car");
+        for (Elevator car : cars) {
+            sample(out, "elevator_car_load", car, car.getLoad());
+        }
+        header(out, "elevator_car_motion_state", "gauge", "Direction of motion of a car, 1 for the current state");
+        for (Elevator car : cars) {
+            Elevator.MotionState current = car.getMotionState();
+            for (Elevator.MotionState state : Elevator.MotionState.values()) {
+                out.append("elevator_car_motion_state{car=\"").append(car.getElevatorNumber())
+                        .append("\",state=\"").append(state).append("\"} ").append(state == current ? 1 : 0).append('\n');
+            }
+        }
+        header(out, "elevator_trips_completed_total", "counter", "Passengers delivered by a car");
+        for (Elevator car : cars) {
+            sample(out, "elevator_trips_completed_total", car, car.getDeliveredPassengers());
+        }
+        header(out, "elevator_car_travelled_floors_total", "counter", "Floors travelled by a car");
+        for (Elevator car : cars) {
+            sample(out, "elevator_car_travelled_floors_total", car, car.getTravelledFloors());
+        }
+
+        header(out, "elevator_tick_duration_seconds", "summary", "Duration of the ticks of the main loop");
+        for (double quantile : new double[]{0.5, 0.9, 0.99}) {
+            out.append("elevator_tick_duration_seconds{quantile=\"").append(quantile).append("\"} ")
+                    .append(tickMicros.getValueAtPercentile(quantile * 100) / 1e6).append('\n');
+        }
+        out.append("elevator_tick_duration_seconds_sum ").append(tickMicros.getTotalSum() / 1e6).append('\n');
+        out.append("elevator_tick_duration_seconds_count ").append(tickMicros.getTotalCount()).append('\n');
+        header(out, "elevator_idle_waits_total", "counter", "Waits of the main loop for a request while the building was idle");
+        out.append("elevator_idle_waits_total ").append(idleWaits).append('\n');
+        header(out, "elevator_idle_seconds_total", "counter", "Time the main loop spent waiting while the building was idle");
+        out.append("elevator_idle_seconds_total ").append(idleMillis / 1e3).append('\n');
+    }
+
+    // Appends the HELP and TYPE lines of a metric
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    // Appends one sample of a metric labelled with the car number
+    private static void sample(StringBuilder out, String name, Elevator car, long value) {
+        out.append(name).append("{car=\"").append(car.getElevatorNumber()).append("\"} ").append(value).append('\n');
+    }
+}
@@ -0,0 +1,54 @@
+package elevators;
+
+/**
+ * Management interface exposing the live state of an elevator controller over JMX.
+ */
+public interface ControllerMetricsMBean {
+    // Number of requests waiting in the request buffer
+    int getBacklogDepth();
+
+    // Largest backlog observed after a tick
+    int getMaxBacklogDepth();
+
+    // Number of passengers waiting on all floors
+    int getWaitingPassengers();
+
+    // Number of passengers waiting on each floor, starting from the first floor
+    int[] getWaitingByFloor();
+
+    // Number of passengers waiting for a car with free room
+    int getDeferredRequests();
+
+    // Number of requests dispatched to a floor
+    long getDispatchedRequests();
+
+    // Number of hall calls moved to a car arriving earlier
+    long getReassignedCalls();
+
+    // Number of pickups dropped because the passenger boarded another car
+    long getCancelledTakes();
+
+    // Number of idle cars sent to the floors where calls are expected
+    long getParkingMoves();
+
+    // Number of passengers delivered by all cars
+    long getTripsCompleted();
+
+    // Number of ticks of the main loop
+    long getTicks();
+
+    // Duration of the last tick in microseconds
+    long getLastTickMicros();
+
+    // 99th percentile of the tick duration in microseconds
+    long getTickP99Micros();
+
+    // Longest tick in microseconds
+    long getMaxTickMicros();
+
+    // Number of times the main loop waited for a request while the building was idle
+    long getIdleWaits();
+
+    // Time the main loop spent waiting while the building was idle in milliseconds
+    long getIdleMillis();
+}
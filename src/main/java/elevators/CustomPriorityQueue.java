@@ -0,0 +1,382 @@
+package elevators;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * This class represents a custom priority queue for managing elevator tasks.
+ * Besides the priority ordering, tasks are indexed by floor, so checking for a stop at a floor is O(1)
+ * and clearing a floor only touches the removed tasks. Removed tasks stay in the heap as tombstones
+ * until they reach its head or the heap is compacted.
+ */
+public class CustomPriorityQueue implements TaskQueue {
+    // Aging offsets above this value are folded back into the stored priorities to avoid overflow
+    private static final int REBASE_THRESHOLD = 1 << 30;
+    // Number of tombstones that is always tolerated before the heap is compacted
+    private static final int COMPACT_SLACK = 32;
+
+    private PriorityQueue<ElementQueue> taskQueue; // Priority queue for storing elevator tasks
+    private ArrayList<ElementQueue>[] floorBuckets; // Tasks indexed by their floor
+    private final BitSet occupiedFloors = new BitSet(); // Floors which have at least one task
+    private int size; // Number of tasks which have not been removed
+    private int removedCount; // Number of removed tasks still present in the heap
+    private int ageOffset; // Total amount by which all priorities in the queue have been decreased
+
+    /**
+     * Constructor to initialize the custom priority queue.
+     */
+    @SuppressWarnings("unchecked")
+    public CustomPriorityQueue() {
+        // Initialize the priority queue with a comparator based on task priority
+        this.taskQueue = new PriorityQueue<>(Comparator.comparingInt(ElementQueue::getKey));
+        this.floorBuckets = (ArrayList<ElementQueue>[]) new ArrayList<?>[16];
+    }
+
+    // Getter for ageOffset
+    public int getAgeOffset() {
+        return ageOffset;
+    }
+
+    /**
+     * Method to set the queue of the custom priority queue.
+     *
+     * @param taskQueue The priority queue to set
+     */
+    public void setQueue(PriorityQueue<ElementQueue> taskQueue) {
+        PriorityQueue<ElementQueue> updatedQueue = new PriorityQueue<>(Comparator.comparingInt(ElementQueue::getKey));
+        for (ArrayList<ElementQueue> bucket : floorBuckets) {
+            if (bucket != null) {
+                bucket.clear();
+            }
+        }
+        occupiedFloors.clear();
+        size = 0;
+        removedCount = 0;
+        for (ElementQueue element : taskQueue) {
+            element.attach(this);
+            updatedQueue.add(element);
+            bucket(element.getFloor()).add(element);
+            occupiedFloors.set(element.getFloor());
+            ++size;
+        }
+        this.taskQueue = updatedQueue;
+    }
+
+    /**
+     * Method to get the underlying priority queue without removed tasks.
+     *
+     * @return The priority queue
+     */
+    public PriorityQueue<ElementQueue> getQueue() {
+        if (removedCount > 0) {
+            compact();
+        }
+        return taskQueue;
+    }
+
+    /**
+     * Method to add an element to the priority queue with the specified priority, floor, person ID, and purpose.
+     *
+     * @param priority The priority of the elevator task
+     * @param floor    The floor associated with the elevator task
+     * @param idPerson The ID of the person associated with the elevator task
+     * @param purpose  The purpose of the elevator task
+     */
+    @Override
+    public void addElement(int priority, int floor, int idPerson, ElementQueue.Purpose purpose) {
+        ElementQueue newElement = new ElementQueue(priority, floor, idPerson, purpose);
+        newElement.attach(this);
+        taskQueue.add(newElement);
+        bucket(floor).add(newElement);
+        occupiedFloors.set(floor);
+        ++size;
+    }
+
+    /**
+     * Method to retrieve and remove the highest-priority element from the queue.
+     *
+     * @return The highest-priority element
+     */
+    @Override
+    public ElementQueue poll() {
+        skipRemoved();
+        ElementQueue element = taskQueue.poll();
+        if (element != null) {
+            ArrayList<ElementQueue> bucket = floorBuckets[element.getFloor()];
+            bucket.remove(element);
+            if (bucket.isEmpty()) {
+                occupiedFloors.clear(element.getFloor());
+            }
+            --size;
+            element.detach();
+        }
+        return element;
+    }
+
+    /**
+     * Method to retrieve, but not remove, the highest-priority element from the queue.
+     *
+     * @return The highest-priority element
+     */
+    @Override
+    public ElementQueue peek() {
+        skipRemoved();
+        return taskQueue.peek();
+    }
+
+    /**
+     * Method to get the floor of the highest-priority element.
+     *
+     * @return The floor of the highest-priority element
+     */
+    @Override
+    public int peekFloor() {
+        ElementQueue element = peek();
+        if (element == null) {
+            throw new NoSuchElementException("Task queue is empty");
+        }
+        return element.getFloor();
+    }
+
+    /**
+     * Method to get the effective priority of the highest-priority element.
+     *
+     * @return The priority of the highest-priority element
+     */
+    @Override
+    public int peekPriority() {
+        ElementQueue element = peek();
+        if (element == null) {
+            throw new NoSuchElementException("Task queue is empty");
+        }
+        return element.getPriority();
+    }
+
+    /**
+     * Method to find the nearest floor above the given one which has a task.
+     *
+     * @param floor The floor to start from
+     * @return The nearest higher floor with a task, or -1 if there is none
+     */
+    @Override
+    public int nextFloorAbove(int floor) {
+        return occupiedFloors.nextSetBit(Math.max(0, floor + 1));
+    }
+
+    /**
+     * Method to find the nearest floor below the given one which has a task.
+     *
+     * @param floor The floor to start from
+     * @return The nearest lower floor with a task, or -1 if there is none
+     */
+    @Override
+    public int nextFloorBelow(int floor) {
+        return floor <= 0 ? -1 : occupiedFloors.previousSetBit(floor - 1);
+    }
+
+    /**
+     * Method to update the priorities of all elements in the queue by decrementing them by a specified amount.
+     * Decreasing every priority by the same amount never changes their order, so only the aging offset
+     * of the queue is moved and the heap itself is left untouched.
+     *
+     * @param decrement The amount by which to decrement the priorities
+     */
+    @Override
+    public void updatePriorities(int decrement) {
+        ageOffset += decrement;
+        if (ageOffset > REBASE_THRESHOLD || ageOffset < -REBASE_THRESHOLD) {
+            rebase();
+        }
+    }
+
+    /**
+     * Method to fold the aging offset into the stored priorities of all elements.
+     * A uniform shift keeps the heap valid, so the elements are updated in place.
+     */
+    private void rebase() {
+        for (ElementQueue element : taskQueue) {
+            element.rebase(ageOffset);
+        }
+        ageOffset = 0;
+    }
+
+    /**
+     * Method to check whether the queue holds any task for the specified floor.
+     *
+     * @param floor The floor to check
+     * @return True if there is at least one task for the floor, otherwise false
+     */
+    @Override
+    public boolean hasFloor(int floor) {
+        return floor >= 0 && floor < floorBuckets.length && floorBuckets[floor] != null && !floorBuckets[floor].isEmpty();
+    }
+
+    /**
+     * Method to remove all elements from the queue with a specified floor value.
+     * The tasks are only marked as removed, the heap is compacted once tombstones outnumber live tasks.
+     *
+     * @param floor The floor value to match for removal
+     */
+    @Override
+    public void removeAllWithValue(int floor) {
+        if (!hasFloor(floor)) {
+            return;
+        }
+        ArrayList<ElementQueue> bucket = floorBuckets[floor];
+        for (ElementQueue element : bucket) {
+            element.markRemoved();
+        }
+        size -= bucket.size();
+        removedCount += bucket.size();
+        bucket.clear();
+        occupiedFloors.clear(floor);
+        if (removedCount > size + COMPACT_SLACK) {
+            compact();
+        }
+    }
+
+    /**
+     * Method to remove a single task. Like a cleared floor, the task is only marked as removed.
+     *
+     * @param floor    The floor of the task
+     * @param idPerson The ID of the person of the task
+     * @param purpose  The purpose of the task
+     * @return True if a matching task was removed, false if there was none
+     */
+    @Override
+    public boolean removeTask(int floor, int idPerson, ElementQueue.Purpose purpose) {
+        if (!hasFloor(floor)) {
+            return false;
+        }
+        ArrayList<ElementQueue> bucket = floorBuckets[floor];
+        for (int i = 0; i < bucket.size(); i++) {
+            ElementQueue element = bucket.get(i);
+            if (element.getIdPerson() == idPerson && element.getPurpose() == purpose) {
+                element.markRemoved();
+                bucket.remove(i);
+                if (bucket.isEmpty()) {
+                    occupiedFloors.clear(floor);
+                }
+                --size;
+                ++removedCount;
+                if (removedCount > size + COMPACT_SLACK) {
+                    compact();
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Method to check if the queue is empty.
+     *
+     * @return True if the queue is empty, otherwise false
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Method to get the number of tasks in the queue.
+     *
+     * @return The number of tasks
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Method to iterate over the tasks in the queue in no particular order.
+     *
+     * @return An iterator over the tasks which have not been removed
+     */
+    @Override
+    public Iterator<ElementQueue> iterator() {
+        Iterator<ElementQueue> heapIterator = taskQueue.iterator();
+        return new Iterator<ElementQueue>() {
+            private ElementQueue next = advance();
+
+            private ElementQueue advance() {
+                while (heapIterator.hasNext()) {
+                    ElementQueue element = heapIterator.next();
+                    if (!element.isRemoved()) {
+                        return element;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public ElementQueue next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                ElementQueue current = next;
+                next = advance();
+                return current;
+            }
+        };
+    }
+
+    /**
+     * Method to drop removed tasks from the head of the heap.
+     */
+    private void skipRemoved() {
+        while (removedCount > 0 && !taskQueue.isEmpty() && taskQueue.peek().isRemoved()) {
+            taskQueue.poll();
+            --removedCount;
+        }
+    }
+
+    /**
+     * Method to rebuild the heap without the removed tasks.
+     */
+    @Override
+    public void compact() {
+        PriorityQueue<ElementQueue> updatedQueue = new PriorityQueue<>(Math.max(1, size), Comparator.comparingInt(ElementQueue::getKey));
+        for (ElementQueue element : taskQueue) {
+            if (!element.isRemoved()) {
+                updatedQueue.add(element);
+            }
+        }
+        taskQueue = updatedQueue;
+        removedCount = 0;
+    }
+
+    /**
+     * Method to get the bucket of tasks for a floor, growing the index if needed.
+     *
+     * @param floor The floor of the bucket
+     * @return The list of tasks for the floor
+     */
+    private ArrayList<ElementQueue> bucket(int floor) {
+        if (floor >= floorBuckets.length) {
+            floorBuckets = Arrays.copyOf(floorBuckets, Math.max(floor + 1, floorBuckets.length * 2));
+        }
+        if (floorBuckets[floor] == null) {
+            floorBuckets[floor] = new ArrayList<>();
+        }
+        return floorBuckets[floor];
+    }
+
+    /**
+     * Method to represent the custom priority queue as a string.
+     */
+    @Override
+    public String toString() {
+        return getQueue().toString();
+    }
+}
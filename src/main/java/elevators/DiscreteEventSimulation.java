@@ -0,0 +1,349 @@
+package elevators;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.PriorityQueue;
+
+/**
+ * This class runs the elevator system as a headless discrete-event simulation.
+ * Instead of sleeping between ticks, it keeps a queue of scheduled events (passenger arrivals,
+ * elevator moves, door cycles, re-evaluations of hall calls and of parking floors) and jumps the virtual clock directly from one event to the next.
+ * Without a {@link MotionModel} every floor takes one controller tick and doors take {@code doorMillis};
+ * with a model, floors and door cycles take their kinematic times.
+ */
+public class DiscreteEventSimulation implements Checkpointable {
+    private final ElevatorController controller; // The controller driven by the simulation
+    private final RequestSource generator; // Source of passenger arrivals, or null
+    private final VirtualClock clock; // The simulated time
+    private final PriorityQueue<SimulationEvent> eventQueue; // Pending events ordered by time
+    private final boolean[] elevatorActive; // Whether an elevator already has a move or door event scheduled
+    private long doorMillis; // How long an elevator stays at a floor after stopping
+    private long sequence; // Counter used to keep events with equal time in scheduling order
+    private long processedEvents; // Number of events handled so far
+    private long arrivals; // Number of passengers generated so far
+    private boolean started; // Whether the first arrival has been scheduled
+    private boolean reassignScheduled; // Whether a re-evaluation of the hall calls is in the event queue
+    private boolean parkScheduled; // Whether a re-evaluation of the parking floors is in the event queue
+
+    /**
+     * Constructor to initialize the simulation for the given controller and source of requests.
+     * Arrivals stop when the source runs out of requests.
+     *
+     * @param controller The elevator controller, which must be created with a {@link VirtualClock}
+     * @param generator  The source of passenger requests, such as a {@link RequestGenerator} or a {@link TraceRequestSource},
+     *                   or null if all requests are scheduled with {@link #scheduleRequest(ElevatorRequest, long)}
+     */
+    public DiscreteEventSimulation(ElevatorController controller, RequestSource generator) {
+        if (!(controller.getClock() instanceof VirtualClock)) {
+            throw new IllegalArgumentException("Discrete-event simulation requires a controller with a VirtualClock");
+        }
+        this.controller = controller;
+        this.generator = generator;
+        this.clock = (VirtualClock) controller.getClock();
+        this.eventQueue = new PriorityQueue<>();
+        this.elevatorActive = new boolean[controller.getLiftList().size()];
+        this.doorMillis = 0;
+    }
+
+    // Getter for controller
+    public ElevatorController getController() {
+        return controller;
+    }
+
+    // Getter for the source of passenger arrivals
+    public RequestSource getRequestSource() {
+        return generator;
+    }
+
+    // Getter for doorMillis
+    public long getDoorMillis() {
+        return doorMillis;
+    }
+
+    // Setter for doorMillis
+    public void setDoorMillis(long doorMillis) {
+        this.doorMillis = doorMillis;
+    }
+
+    // Getter for processedEvents
+    public long getProcessedEvents() {
+        return processedEvents;
+    }
+
+    // Getter for arrivals
+    public long getArrivals() {
+        return arrivals;
+    }
+
+    /**
+     * Method to run the simulation for the specified amount of simulated time.
+     * The method may be called repeatedly to continue the same simulation.
+     *
+     * @param durationMillis The simulated time to run in milliseconds
+     */
+    public void run(long durationMillis) {
+        runUntil(clock.currentTimeMillis() + durationMillis);
+    }
+
+    /**
+     * Method to run the simulation until the given time of the virtual clock, including the events at that time.
+     *
+     * @param endTime The simulated time to stop at in milliseconds
+     */
+    public void runUntil(long endTime) {
+        if (!started) {
+            started = true;
+            scheduleArrival(clock.currentTimeMillis());
+        }
+        // Re-evaluations enabled since the start or a restore begin now
+        if (!reassignScheduled && controller.getReassignIntervalMillis() > 0) {
+            reassignScheduled = true;
+            schedule(clock.currentTimeMillis() + controller.getReassignIntervalMillis(), SimulationEvent.Type.REASSIGN, -1);
+        }
+        if (!parkScheduled && controller.getParking() != null) {
+            parkScheduled = true;
+            schedule(clock.currentTimeMillis() + controller.getParking().getIntervalMillis(), SimulationEvent.Type.PARK, -1);
+        }
+        while (!eventQueue.isEmpty() && eventQueue.peek().getTime() <= endTime) {
+            SimulationEvent event = eventQueue.poll();
+            clock.advanceTo(event.getTime());
+            handle(event);
+            ++processedEvents;
+        }
+        clock.advanceTo(endTime);
+    }
+
+    /**
+     * Method to schedule the arrival of a given request, for example a passenger changing cars.
+     * The request is dispatched to the controller at the given time as if it came from the request source.
+     *
+     * @param request The request of the arriving passenger
+     * @param time    The simulated time of the arrival, not earlier than the current time
+     */
+    public void scheduleRequest(ElevatorRequest request, long time) {
+        if (time < clock.currentTimeMillis()) {
+            throw new IllegalArgumentException("Arrival at " + time + " is in the past");
+        }
+        eventQueue.add(new SimulationEvent(time, sequence++, SimulationEvent.Type.ARRIVAL, -1, request));
+    }
+
+    /**
+     * Method to write the pending events and counters of the simulation.
+     *
+     * @param out The stream to write to
+     * @throws IOException If the stream cannot be written
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        out.writeBoolean(started);
+        out.writeLong(sequence);
+        out.writeLong(processedEvents);
+        out.writeLong(arrivals);
+        out.writeInt(elevatorActive.length);
+        for (boolean active : elevatorActive) {
+            out.writeBoolean(active);
+        }
+        out.writeInt(eventQueue.size());
+        for (SimulationEvent event : eventQueue) {
+            out.writeLong(event.getTime());
+            out.writeLong(event.getSequence());
+            out.writeInt(event.getType().ordinal());
+            out.writeInt(event.getElevatorNumber());
+            out.writeBoolean(event.getRequest() != null);
+            if (event.getRequest() != null) {
+                Checkpoint.writeRequest(out, event.getRequest());
+            }
+        }
+    }
+
+    /**
+     * Method to restore the state written by {@link #writeState(DataOutput)} into a simulation which has not run yet.
+     * Periodic re-evaluations which are enabled in this simulation but were not in the saved one start with the run,
+     * and those which are no longer enabled are dropped when they come due.
+     *
+     * @param in The stream to read from
+     * @throws IOException If the stream cannot be read, belongs to a different number of elevators or holds an invalid event
+     */
+    @Override
+    public void readState(DataInput in) throws IOException {
+        if (started) {
+            throw new IllegalStateException("Simulation has already started");
+        }
+        started = in.readBoolean();
+        sequence = in.readLong();
+        processedEvents = in.readLong();
+        arrivals = in.readLong();
+        if (in.readInt() != elevatorActive.length) {
+            throw new IOException("Checkpoint has a different number of elevators");
+        }
+        for (int i = 0; i < elevatorActive.length; i++) {
+            elevatorActive[i] = in.readBoolean();
+        }
+        SimulationEvent.Type[] types = SimulationEvent.Type.values();
+        int events = Checkpoint.readInt(in, "number of events", 0, Integer.MAX_VALUE);
+        for (int i = 0; i < events; i++) {
+            long time = in.readLong();
+            if (time < clock.currentTimeMillis()) {
+                throw new IOException("Event at " + time + " is before the checkpoint time " + clock.currentTimeMillis());
+            }
+            long eventSequence = in.readLong();
+            SimulationEvent.Type type = types[Checkpoint.readInt(in, "event type", 0, types.length - 1)];
+            // Only the events of a car name one
+            int elevatorNumber = type == SimulationEvent.Type.ELEVATOR_MOVE || type == SimulationEvent.Type.DOOR_CLOSE
+                    ? Checkpoint.readInt(in, "elevator of " + type + " event", 0, elevatorActive.length - 1)
+                    : Checkpoint.readInt(in, "elevator of " + type + " event", -1, -1);
+            ElevatorRequest request = in.readBoolean() ? Checkpoint.readRequest(in, controller) : null;
+            eventQueue.add(new SimulationEvent(time, eventSequence, type, elevatorNumber, request));
+            reassignScheduled |= type == SimulationEvent.Type.REASSIGN;
+            parkScheduled |= type == SimulationEvent.Type.PARK;
+        }
+    }
+
+    /**
+     * Method to schedule the next passenger arrival, unless the source has run out of requests.
+     *
+     * @param now The time of the previous arrival
+     */
+    private void scheduleArrival(long now) {
+        if (generator == null) {
+            return;
+        }
+        long interval = generator.nextIntervalMillis();
+        if (interval >= 0) {
+            schedule(now + interval, SimulationEvent.Type.ARRIVAL, -1);
+        }
+    }
+
+    /**
+     * Method to handle a single event.
+     *
+     * @param event The event to handle
+     */
+    private void handle(SimulationEvent event) {
+        long now = clock.currentTimeMillis();
+        switch (event.getType()) {
+            case ARRIVAL:
+                ++arrivals;
+                ElevatorRequest request = event.getRequest();
+                Elevator elevator = controller.dispatchRequest(request != null ? request : generator.nextRequest());
+                if (elevator != null) {
+                    activate(elevator.getElevatorNumber());
+                }
+                if (request == null) {
+                    scheduleArrival(now);
+                }
+                break;
+            case ELEVATOR_MOVE:
+                Elevator movingElevator = controller.getLiftList().get(event.getElevatorNumber());
+                if (movingElevator.step()) {
+                    MotionModel motionModel = controller.getMotionModel();
+                    long doorCycle = motionModel != null ? motionModel.getDoorCycleMillis() : doorMillis;
+                    schedule(now + doorCycle, SimulationEvent.Type.DOOR_CLOSE, event.getElevatorNumber());
+                    // Boarding may have handed passengers left behind by a full car to another elevator
+                    activateBusyElevators();
+                } else {
+                    continueOrIdle(movingElevator);
+                }
+                break;
+            case DOOR_CLOSE:
+                continueOrIdle(controller.getLiftList().get(event.getElevatorNumber()));
+                break;
+            case REASSIGN:
+                // A restored simulation may run without re-evaluations, which drops the event
+                reassignScheduled = controller.getReassignIntervalMillis() > 0;
+                if (reassignScheduled) {
+                    if (controller.reassignHallCalls() > 0) {
+                        activateBusyElevators();
+                    }
+                    schedule(now + controller.getReassignIntervalMillis(), SimulationEvent.Type.REASSIGN, -1);
+                }
+                break;
+            case PARK:
+                PredictiveParking parking = controller.getParking();
+                parkScheduled = parking != null;
+                if (parkScheduled) {
+                    if (controller.parkIdleCars() > 0) {
+                        activateBusyElevators();
+                    }
+                    schedule(now + parking.getIntervalMillis(), SimulationEvent.Type.PARK, -1);
+                }
+                break;
+        }
+    }
+
+    /**
+     * Method to schedule the next move of an elevator, or let it rest when it has nothing to do.
+     *
+     * @param elevator The elevator to check
+     */
+    private void continueOrIdle(Elevator elevator) {
+        int number = elevator.getElevatorNumber();
+        if (elevator.getTaskQueue().isEmpty()) {
+            elevatorActive[number] = false;
+            // A car which becomes free may reach waiting passengers before their assigned car
+            if (controller.getReassignIntervalMillis() > 0 && controller.reassignHallCalls() > 0) {
+                activateBusyElevators();
+            }
+            // An idle car heads for the floor where the next call is expected
+            if (controller.getParking() != null && controller.parkIdleCars() > 0) {
+                activateBusyElevators();
+            }
+        } else {
+            schedule(clock.currentTimeMillis() + moveDelay(elevator), SimulationEvent.Type.ELEVATOR_MOVE, number);
+        }
+    }
+
+    /**
+     * Method to compute when the next step of an elevator happens.
+     *
+     * @param elevator The elevator
+     * @return The delay in milliseconds
+     */
+    private long moveDelay(Elevator elevator) {
+        MotionModel motionModel = controller.getMotionModel();
+        if (motionModel == null) {
+            return controller.getTickMillis();
+        }
+        if (elevator.getRunFloors() == 0 && elevator.servesCurrentFloorNext()) {
+            // A standing car serves its own floor without moving
+            return 0;
+        }
+        return motionModel.segmentMillis(elevator.getRunFloors() + 1);
+    }
+
+    /**
+     * Method to wake up every idle elevator which has tasks.
+     */
+    private void activateBusyElevators() {
+        for (int i = 0; i < elevatorActive.length; i++) {
+            if (!elevatorActive[i] && !controller.getLiftList().get(i).getTaskQueue().isEmpty()) {
+                activate(i);
+            }
+        }
+    }
+
+    /**
+     * Method to wake up an idle elevator that has received a new task.
+     *
+     * @param elevatorNumber The number of the elevator
+     */
+    private void activate(int elevatorNumber) {
+        if (!elevatorActive[elevatorNumber]) {
+            elevatorActive[elevatorNumber] = true;
+            Elevator elevator = controller.getLiftList().get(elevatorNumber);
+            schedule(clock.currentTimeMillis() + moveDelay(elevator), SimulationEvent.Type.ELEVATOR_MOVE, elevatorNumber);
+        }
+    }
+
+    /**
+     * Method to add an event to the event queue.
+     *
+     * @param time           The simulated time of the event
+     * @param type           The type of the event
+     * @param elevatorNumber The elevator the event belongs to, or -1
+     */
+    private void schedule(long time, SimulationEvent.Type type, int elevatorNumber) {
+        eventQueue.add(new SimulationEvent(time, sequence++, type, elevatorNumber));
+    }
+}
@@ -0,0 +1,37 @@
+package elevators;
+
+import java.util.List;
+
+/**
+ * This interface represents an algorithm choosing which elevator serves a new hall call.
+ */
+public interface DispatchStrategy {
+    /**
+     * Method to select the elevator which should handle a request.
+     *
+     * @param request    The elevator request
+     * @param candidates The elevators which may handle the request
+     * @param controller The controller asking for the decision
+     * @return The selected elevator, or null if none of the candidates can handle the request
+     */
+    Elevator selectElevator(ElevatorRequest request, List<Elevator> candidates, ElevatorController controller);
+
+    /**
+     * Method to create a strategy by its name, so that it can be chosen at startup.
+     *
+     * @param name One of "heuristic", "eta" or "zoned"
+     * @return The new strategy
+     */
+    static DispatchStrategy forName(String name) {
+        switch (name) {
+            case "heuristic":
+                return new HeuristicDispatchStrategy();
+            case "eta":
+                return new EtaDispatchStrategy();
+            case "zoned":
+                return new ZonedDispatchStrategy(new HeuristicDispatchStrategy());
+            default:
+                throw new IllegalArgumentException("Unknown dispatch strategy: " + name);
+        }
+    }
+}
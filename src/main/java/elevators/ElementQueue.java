@@ -0,0 +1,115 @@
+package elevators;
+
+/**
+ * This class represents an element in the elevator task queue.
+ */
+public class ElementQueue {
+    private int priority; // The priority of the elevator task, relative to the aging offset of its queue
+    private final int floor; // The floor associated with the elevator task
+    private final int idPerson; // The ID of the person associated with the elevator task
+    private final Purpose purpose; // The purpose of the elevator task
+    private CustomPriorityQueue queue; // The queue holding the task, or null if it is not queued
+    private boolean removed; // Whether the task was removed from its queue but is still stored in the heap
+
+    // Enumeration for the purpose of the elevator task
+    public enum Purpose {
+        Deliver, // Delivering a person to a floor
+        Take,    // Taking a person from a floor
+        Park     // Waiting for the next call on a floor, dropped as soon as the car gets another task
+    }
+
+    /**
+     * Constructor to initialize an element in the elevator task queue.
+     *
+     * @param priority The priority of the elevator task
+     * @param floor    The floor associated with the elevator task
+     * @param idPerson The ID of the person associated with the elevator task
+     * @param purpose  The purpose of the elevator task
+     */
+    public ElementQueue(int priority, int floor, int idPerson, Purpose purpose) {
+        this.priority = priority;
+        this.floor = floor;
+        this.idPerson = idPerson;
+        this.purpose = purpose;
+    }
+
+    // Getter for the effective priority, taking the aging of the queue into account
+    public int getPriority() {
+        return queue == null ? priority : priority - queue.getAgeOffset();
+    }
+
+    // Getter for the stored priority used to order tasks inside the queue
+    int getKey() {
+        return priority;
+    }
+
+    /**
+     * Method to bind the task to a queue, storing its priority relative to the queue's aging offset.
+     *
+     * @param owner The queue that will hold the task
+     */
+    void attach(CustomPriorityQueue owner) {
+        int effectivePriority = getPriority();
+        this.queue = owner;
+        this.priority = effectivePriority + owner.getAgeOffset();
+    }
+
+    /**
+     * Method to unbind the task from its queue, keeping its current effective priority.
+     */
+    void detach() {
+        this.priority = getPriority();
+        this.queue = null;
+    }
+
+    // Getter for removed
+    boolean isRemoved() {
+        return removed;
+    }
+
+    // Marks the task as removed from its queue
+    void markRemoved() {
+        this.removed = true;
+    }
+
+    /**
+     * Method to shift the stored priority when the queue resets its aging offset.
+     *
+     * @param amount The amount to subtract from the stored priority
+     */
+    void rebase(int amount) {
+        this.priority -= amount;
+    }
+
+    // Getter for floor
+    public int getFloor() {
+        return floor;
+    }
+
+    // Getter for idPerson
+    public int getIdPerson() {
+        return idPerson;
+    }
+
+    // Getter for purpose
+    public Purpose getPurpose() {
+        return purpose;
+    }
+
+    /**
+     * Method to decrease the priority of the elevator task by a specified amount.
+     *
+     * @param amount The amount by which to decrease the priority
+     */
+    public void decreasePriority(int amount) {
+        this.priority -= amount;
+    }
+
+    /**
+     * Method to represent the element in the elevator task queue as a string.
+     */
+    @Override
+    public String toString() {
+        return "(" + getPriority() + ", " + floor + ", " + idPerson + ", " + purpose + ")";
+    }
+}
@@ -0,0 +1,628 @@
+package elevators;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * This class represents an elevator in the building.
+ */
+public class Elevator implements Checkpointable {
+    // Passenger ID of the task of a parking car
+    private static final int PARKING_ID = -1;
+
+    private int elevatorNumber; // The elevator number
+    private int currentFloor;   // The current floor of the elevator
+    private MotionState motionState; // The direction of motion of the elevator
+
+    // The task queue for the elevator
+    private TaskQueue taskQueue;
+
+    // Reference to the elevator controller
+    final private ElevatorController elevatorManager;
+
+    // How the elevator chooses the next floor to go to
+    private SchedulingMode schedulingMode = SchedulingMode.PRIORITY;
+    // Direction of the current LOOK sweep: 1 up, -1 down, 0 when there is no sweep
+    private int sweepDirection;
+    // Total number of floors the elevator has travelled
+    private long travelledFloors;
+    // Number of passengers delivered to their destination, volatile so that monitoring threads see whole values
+    private volatile long deliveredPassengers;
+    // Number of floors travelled since the last stop, in the current direction
+    private int runFloors;
+    // Direction of the last move: 1 up, -1 down, 0 when standing
+    private int runDirection;
+    // Largest number of passengers the car can carry
+    private int capacityPersons = Integer.MAX_VALUE;
+    // Largest load the car can carry in kilograms
+    private int capacityKg = Integer.MAX_VALUE;
+    // Number of passengers on board
+    private int load;
+    // Weight of the passengers on board in kilograms
+    private int loadKg;
+    // Number of passengers on board going to each floor
+    private int[] alightingPersons = new int[16];
+    // Weight of the passengers on board going to each floor
+    private int[] alightingKg = new int[16];
+    // Passengers on board going to each floor, only kept while latencies are recorded, events logged or deliveries observed
+    private ArrayList<ElevatorRequest>[] riders;
+    // Number of steps a task may wait before LOOK goes straight for it, or -1 for four times the building height
+    private int starvationLimit = -1;
+    // Floor the car is heading to for parking, or -1 when it is not parking
+    private int parkingFloor = -1;
+
+    // Enumeration for the direction of elevator motion
+    public enum MotionState {
+        UP,
+        DOWN,
+        IDLE
+    }
+
+    // Enumeration for the way the elevator chooses its next floor
+    public enum SchedulingMode {
+        PRIORITY, // Always head for the task with the lowest priority
+        LOOK      // Sweep in one direction stopping at every requested floor, then reverse
+    }
+
+    /**
+     * Default constructor for creating an elevator with default parameters.
+     *
+     * @param elevatorNumber  The number assigned to the elevator
+     * @param elevatorManager The controller managing the elevator
+     */
+    public Elevator(int elevatorNumber, ElevatorController elevatorManager) {
+        this(elevatorNumber, 1, MotionState.IDLE, elevatorManager);
+    }
+
+    /**
+     * Main constructor for creating an elevator with specified parameters.
+     *
+     * @param elevatorNumber  The number assigned to the elevator
+     * @param currentFloor    The current floor of the elevator
+     * @param motionState     The current motion state of the elevator
+     * @param elevatorManager The controller managing the elevator
+     */
+    public Elevator(int elevatorNumber, int currentFloor, MotionState motionState, ElevatorController elevatorManager) {
+        this.elevatorNumber = elevatorNumber;
+        this.currentFloor = currentFloor;
+        this.motionState = motionState;
+        this.taskQueue = new CustomPriorityQueue();
+        this.elevatorManager = elevatorManager;
+    }
+
+    // Getter for elevatorManager
+    public ElevatorController getElevatorManager() {
+        return elevatorManager;
+    }
+
+    // Getter for elevatorNumber
+    public int getElevatorNumber() {
+        return elevatorNumber;
+    }
+
+    // Getter for TaskQueue
+    public TaskQueue getTaskQueue() {
+        return taskQueue;
+    }
+
+    // Setter for elevatorNumber
+    public void setElevatorNumber(int elevatorNumber) {
+        this.elevatorNumber = elevatorNumber;
+    }
+
+    // Getter for currentFloor
+    public int getCurrentFloor() {
+        return currentFloor;
+    }
+
+    // Setter for currentFloor
+    public void setCurrentFloor(int currentFloor) {
+        this.currentFloor = currentFloor;
+    }
+
+    // Getter for motionState
+    public MotionState getMotionState() {
+        return motionState;
+    }
+
+    // Setter for motionState
+    public void setMotionState(MotionState motionState) {
+        this.motionState = motionState;
+    }
+
+    // Setter for taskQueue
+    public void setTaskQueue(TaskQueue taskQueue) {
+        this.taskQueue = taskQueue;
+        this.parkingFloor = -1;
+    }
+
+    // Getter for schedulingMode
+    public SchedulingMode getSchedulingMode() {
+        return schedulingMode;
+    }
+
+    // Setter for schedulingMode
+    public void setSchedulingMode(SchedulingMode schedulingMode) {
+        this.schedulingMode = schedulingMode;
+        this.sweepDirection = 0;
+    }
+
+    // Getter for travelledFloors
+    public long getTravelledFloors() {
+        return travelledFloors;
+    }
+
+    // Getter for deliveredPassengers
+    public long getDeliveredPassengers() {
+        return deliveredPassengers;
+    }
+
+    // Getter for runFloors
+    public int getRunFloors() {
+        return runFloors;
+    }
+
+    // Getter for load
+    public int getLoad() {
+        return load;
+    }
+
+    // Getter for loadKg
+    public int getLoadKg() {
+        return loadKg;
+    }
+
+    // Getter for capacityPersons
+    public int getCapacityPersons() {
+        return capacityPersons;
+    }
+
+    // Getter for capacityKg
+    public int getCapacityKg() {
+        return capacityKg;
+    }
+
+    /**
+     * Method to set the capacity of the car.
+     *
+     * @param capacityPersons The largest number of passengers, or Integer.MAX_VALUE for no limit
+     * @param capacityKg      The largest load in kilograms, or Integer.MAX_VALUE for no limit
+     */
+    public void setCapacity(int capacityPersons, int capacityKg) {
+        this.capacityPersons = capacityPersons;
+        this.capacityKg = capacityKg;
+    }
+
+    /**
+     * Method to get how full the car is.
+     *
+     * @return The larger of the person and weight ratios, between 0 and 1
+     */
+    public double getLoadFactor() {
+        return Math.max((double) load / capacityPersons, (double) loadKg / capacityKg);
+    }
+
+    /**
+     * Method to check whether the car has no room left.
+     *
+     * @return True if the car reached its capacity, otherwise false
+     */
+    public boolean isFull() {
+        return load >= capacityPersons || loadKg >= capacityKg;
+    }
+
+    /**
+     * Method to check whether a passenger still fits into the car.
+     *
+     * @param request The request of the passenger
+     * @return True if the passenger can board, otherwise false
+     */
+    public boolean canBoard(ElevatorRequest request) {
+        return load < capacityPersons && (long) loadKg + request.getWeightKg() <= capacityKg;
+    }
+
+    /**
+     * Method to take a passenger on board and add the delivery to the task queue.
+     *
+     * @param request The request of the boarding passenger
+     */
+    public void board(ElevatorRequest request) {
+        int floor = request.getTargetFloor();
+        if (floor >= alightingPersons.length) {
+            int length = Math.max(floor + 1, alightingPersons.length * 2);
+            alightingPersons = Arrays.copyOf(alightingPersons, length);
+            alightingKg = Arrays.copyOf(alightingKg, length);
+        }
+        ++alightingPersons[floor];
+        alightingKg[floor] += request.getWeightKg();
+        ++load;
+        loadKg += request.getWeightKg();
+        request.setAssignedElevator(elevatorNumber);
+        request.setBoardedMillis(elevatorManager.getClock().currentTimeMillis());
+        LatencyRecorder latencyRecorder = elevatorManager.getLatencyRecorder();
+        EventLog eventLog = elevatorManager.getEventLog();
+        if (latencyRecorder != null) {
+            latencyRecorder.recordBoarding(request, elevatorNumber);
+        }
+        if (eventLog != null) {
+            eventLog.log(request.getBoardedMillis(), EventLog.Type.BOARD, elevatorNumber, currentFloor, request.getPassengerId(), floor);
+        }
+        if (latencyRecorder != null || eventLog != null || elevatorManager.getDeliveryListener() != null) {
+            ridersTo(floor).add(request);
+        }
+        addRequest(floor, request.getPassengerId(), ElementQueue.Purpose.Deliver);
+    }
+
+    // Returns the list of passengers on board going to the given floor
+    @SuppressWarnings("unchecked")
+    private ArrayList<ElevatorRequest> ridersTo(int floor) {
+        if (riders == null || floor >= riders.length) {
+            ArrayList<ElevatorRequest>[] grown = (ArrayList<ElevatorRequest>[]) new ArrayList<?>[Math.max(floor + 1, alightingPersons.length)];
+            if (riders != null) {
+                System.arraycopy(riders, 0, grown, 0, riders.length);
+            }
+            riders = grown;
+        }
+        if (riders[floor] == null) {
+            riders[floor] = new ArrayList<>();
+        }
+        return riders[floor];
+    }
+
+    /**
+     * Method to let out the passengers whose destination is the given floor and record their ride times.
+     *
+     * @param floor The floor where the car stopped
+     */
+    private void unload(int floor) {
+        if (floor < alightingPersons.length) {
+            if (alightingPersons[floor] > 0) {
+                deliveredPassengers += alightingPersons[floor];
+            }
+            load -= alightingPersons[floor];
+            loadKg -= alightingKg[floor];
+            alightingPersons[floor] = 0;
+            alightingKg[floor] = 0;
+        }
+        if (riders != null && floor < riders.length && riders[floor] != null && !riders[floor].isEmpty()) {
+            LatencyRecorder latencyRecorder = elevatorManager.getLatencyRecorder();
+            EventLog eventLog = elevatorManager.getEventLog();
+            Consumer<ElevatorRequest> deliveryListener = elevatorManager.getDeliveryListener();
+            long now = elevatorManager.getClock().currentTimeMillis();
+            for (ElevatorRequest request : riders[floor]) {
+                if (latencyRecorder != null) {
+                    latencyRecorder.recordDelivery(request, elevatorNumber, now);
+                }
+                if (eventLog != null) {
+                    eventLog.log(now, EventLog.Type.ALIGHT, elevatorNumber, floor, request.getPassengerId(), 0);
+                }
+                if (deliveryListener != null) {
+                    deliveryListener.accept(request);
+                }
+            }
+            riders[floor].clear();
+        }
+    }
+
+    // Setter for starvationLimit
+    public void setStarvationLimit(int starvationLimit) {
+        this.starvationLimit = starvationLimit;
+    }
+
+    // Getter for parkingFloor, -1 when the car is not heading to a parking floor
+    public int getParkingFloor() {
+        return parkingFloor;
+    }
+
+    /**
+     * Method to send an idle car to the floor where it should wait for the next call.
+     * A car which is already parking is redirected; a car with any other task is left alone.
+     *
+     * @param floor The parking floor
+     * @return True if the car starts moving to a new parking floor, otherwise false
+     */
+    public boolean park(int floor) {
+        if (floor == parkingFloor) {
+            return false;
+        }
+        cancelParking();
+        if (!taskQueue.isEmpty() || floor == currentFloor) {
+            return false;
+        }
+        parkingFloor = floor;
+        addRequest(floor, PARKING_ID, ElementQueue.Purpose.Park);
+        return true;
+    }
+
+    // Drops the parking task, if the car is heading to a parking floor
+    private void cancelParking() {
+        if (parkingFloor >= 0) {
+            taskQueue.removeTask(parkingFloor, PARKING_ID, ElementQueue.Purpose.Park);
+            parkingFloor = -1;
+        }
+    }
+
+    /**
+     * Method to write the position, motion, load, passengers on board and tasks of the elevator.
+     * The configuration (capacity, scheduling mode and starvation limit) is not written.
+     *
+     * @param out The stream to write to
+     * @throws IOException If the stream cannot be written
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        out.writeInt(currentFloor);
+        out.writeInt(motionState.ordinal());
+        out.writeInt(sweepDirection);
+        out.writeLong(travelledFloors);
+        out.writeLong(deliveredPassengers);
+        out.writeInt(runFloors);
+        out.writeInt(runDirection);
+        out.writeInt(load);
+        out.writeInt(loadKg);
+        out.writeInt(alightingPersons.length);
+        for (int i = 0; i < alightingPersons.length; i++) {
+            out.writeInt(alightingPersons[i]);
+            out.writeInt(alightingKg[i]);
+        }
+        int riderFloors = riders == null ? 0 : riders.length;
+        out.writeInt(riderFloors);
+        for (int floor = 0; floor < riderFloors; floor++) {
+            List<ElevatorRequest> list = riders[floor] == null ? List.of() : riders[floor];
+            out.writeInt(list.size());
+            for (ElevatorRequest request : list) {
+                Checkpoint.writeRequest(out, request);
+            }
+        }
+        // The restored queue is built in iteration order, so this queue takes the same layout
+        taskQueue.compact();
+        out.writeInt(taskQueue.size());
+        for (ElementQueue task : taskQueue) {
+            out.writeInt(task.getPriority());
+            out.writeInt(task.getFloor());
+            out.writeInt(task.getIdPerson());
+            out.writeInt(task.getPurpose().ordinal());
+        }
+    }
+
+    /**
+     * Method to restore the state written by {@link #writeState(DataOutput)} into an elevator without tasks.
+     *
+     * @param in The stream to read from
+     * @throws IOException If the stream cannot be read or holds a value which does not fit the building
+     */
+    @Override
+    public void readState(DataInput in) throws IOException {
+        if (!taskQueue.isEmpty()) {
+            throw new IllegalStateException("Elevator " + elevatorNumber + " already has tasks");
+        }
+        int totalFloors = elevatorManager.getTotalFloors();
+        currentFloor = Checkpoint.readInt(in, "floor of elevator " + elevatorNumber, 1, totalFloors);
+        MotionState[] motionStates = MotionState.values();
+        motionState = motionStates[Checkpoint.readInt(in, "motion state", 0, motionStates.length - 1)];
+        sweepDirection = Checkpoint.readInt(in, "sweep direction", -1, 1);
+        travelledFloors = in.readLong();
+        deliveredPassengers = in.readLong();
+        if (travelledFloors < 0 || deliveredPassengers < 0) {
+            throw new IOException("Invalid travelled floors " + travelledFloors + " or delivered passengers "
+                    + deliveredPassengers + " of elevator " + elevatorNumber + " in checkpoint");
+        }
+        runFloors = Checkpoint.readInt(in, "floors of the current run", 0, Integer.MAX_VALUE);
+        runDirection = Checkpoint.readInt(in, "run direction", -1, 1);
+        load = Checkpoint.readInt(in, "load", 0, Integer.MAX_VALUE);
+        loadKg = Checkpoint.readInt(in, "load in kilograms", 0, Integer.MAX_VALUE);
+        // The per-floor arrays start at 16 entries and only double to make room for a floor of the building
+        int maxLength = Math.max(alightingPersons.length, 2 * (totalFloors + 1));
+        int floors = Checkpoint.readInt(in, "length of the passengers on board", 0, maxLength);
+        alightingPersons = new int[floors];
+        alightingKg = new int[floors];
+        for (int i = 0; i < floors; i++) {
+            boolean stop = i >= 1 && i <= totalFloors;
+            alightingPersons[i] = Checkpoint.readInt(in, "passengers on board to floor " + i, 0, stop ? Integer.MAX_VALUE : 0);
+            alightingKg[i] = Checkpoint.readInt(in, "kilograms on board to floor " + i, 0, stop ? Integer.MAX_VALUE : 0);
+        }
+        riders = null;
+        int riderFloors = Checkpoint.readInt(in, "length of the riders on board", 0, maxLength);
+        for (int floor = 0; floor < riderFloors; floor++) {
+            int count = Checkpoint.readInt(in, "number of riders to floor " + floor, 0, Integer.MAX_VALUE);
+            for (int k = 0; k < count; k++) {
+                ElevatorRequest request = Checkpoint.readRequest(in, elevatorManager);
+                if (request.getTargetFloor() != floor) {
+                    throw new IOException("Passenger " + request.getPassengerId() + " to floor " + request.getTargetFloor()
+                            + " is riding to floor " + floor + " in checkpoint");
+                }
+                ridersTo(floor).add(request);
+            }
+        }
+        int tasks = Checkpoint.readInt(in, "number of tasks", 0, Integer.MAX_VALUE);
+        ElementQueue.Purpose[] purposes = ElementQueue.Purpose.values();
+        parkingFloor = -1;
+        for (int i = 0; i < tasks; i++) {
+            int priority = in.readInt();
+            int floor = Checkpoint.readInt(in, "task floor", 1, totalFloors);
+            int idPerson = in.readInt();
+            ElementQueue.Purpose purpose = purposes[Checkpoint.readInt(in, "task purpose", 0, purposes.length - 1)];
+            if (purpose == ElementQueue.Purpose.Park) {
+                parkingFloor = floor;
+            }
+            taskQueue.addElement(priority, floor, idPerson, purpose);
+        }
+    }
+
+    /**
+     * Method to add a request to the elevator's task queue.
+     *
+     * @param floor    The floor to which the request is made
+     * @param idPerson The ID of the person making the request
+     * @param purpose  The purpose of the request (deliver, take or park)
+     */
+    public void addRequest(int floor, int idPerson, ElementQueue.Purpose purpose) {
+        if (purpose != ElementQueue.Purpose.Park) {
+            // A parking car serves the call instead
+            cancelParking();
+        }
+        int p1 = purpose.ordinal() + Math.abs(currentFloor - floor);
+        taskQueue.addElement(p1, floor, idPerson, purpose);
+    }
+
+    /**
+     * Method to drop the pickup of a passenger who no longer waits for this car.
+     *
+     * @param floor    The floor where the passenger was waiting
+     * @param idPerson The ID of the passenger
+     * @return True if the car had a pickup for the passenger, otherwise false
+     */
+    public boolean cancelTake(int floor, int idPerson) {
+        return taskQueue.removeTask(floor, idPerson, ElementQueue.Purpose.Take);
+    }
+
+    /**
+     * Method to update the motion state of the elevator based on the task queue.
+     * When the elevator stops, the tasks for the current floor are removed, but the controller is not called.
+     *
+     * @return True if the elevator stopped to serve the current floor, otherwise false
+     */
+    private boolean updateMotionState() {
+        if (taskQueue.isEmpty()) {
+            motionState = MotionState.IDLE;
+            sweepDirection = 0;
+        } else {
+            if (taskQueue.hasFloor(currentFloor)) {
+                taskQueue.removeAllWithValue(currentFloor);
+                if (parkingFloor == currentFloor) {
+                    parkingFloor = -1;
+                }
+                EventLog eventLog = elevatorManager.getEventLog();
+                if (eventLog != null) {
+                    eventLog.log(elevatorManager.getClock().currentTimeMillis(), EventLog.Type.STOP, elevatorNumber, currentFloor, -1, 0);
+                }
+                unload(currentFloor);
+                motionState = MotionState.IDLE;
+                if (taskQueue.isEmpty()) {
+                    sweepDirection = 0;
+                }
+                return true;
+            }
+            int nextFloor = nextTarget();
+            if (nextFloor > currentFloor) {
+                motionState = MotionState.UP;
+            } else if (nextFloor < currentFloor) {
+                motionState = MotionState.DOWN;
+            } else {
+                motionState = MotionState.IDLE;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Method to execute a step in the elevator's operation, including boarding the people waiting
+     * on the floor where the elevator stops.
+     *
+     * @return True if the elevator stopped at a floor during this step, otherwise false
+     */
+    public boolean step() {
+        boolean stopped = move();
+        if (stopped) {
+            elevatorManager.call(elevatorNumber, currentFloor);
+        }
+        return stopped;
+    }
+
+    /**
+     * Method to execute the movement part of a step. It only changes the state of this elevator,
+     * so different elevators can move concurrently; boarding is left to the caller.
+     *
+     * @return True if the elevator stopped at a floor and the controller has to be called, otherwise false
+     */
+    boolean move() {
+        if (taskQueue.isEmpty()) {
+            runFloors = 0;
+            runDirection = 0;
+            return updateMotionState();
+        }
+        taskQueue.updatePriorities(1);
+        int targetFloor = nextTarget();
+        int direction = Integer.signum(targetFloor - currentFloor);
+        if (direction != 0) {
+            currentFloor += direction;
+            ++travelledFloors;
+            // A change of direction starts a new run
+            runFloors = direction == runDirection ? runFloors + 1 : 1;
+            runDirection = direction;
+            EventLog eventLog = elevatorManager.getEventLog();
+            if (eventLog != null) {
+                eventLog.log(elevatorManager.getClock().currentTimeMillis(), EventLog.Type.MOVE, elevatorNumber, currentFloor, -1, direction);
+            }
+        }
+        boolean stopped = updateMotionState();
+        if (stopped || motionState == MotionState.IDLE) {
+            runFloors = 0;
+            runDirection = 0;
+        }
+        return stopped;
+    }
+
+    /**
+     * Method to check whether the next step serves the current floor without moving.
+     *
+     * @return True if the elevator will stop where it stands, otherwise false
+     */
+    public boolean servesCurrentFloorNext() {
+        if (!taskQueue.hasFloor(currentFloor)) {
+            return false;
+        }
+        return schedulingMode == SchedulingMode.LOOK || taskQueue.peekFloor() == currentFloor;
+    }
+
+    /**
+     * Method to choose the floor the elevator should head for.
+     * In priority mode this is the floor of the highest-priority task. In LOOK mode it is the nearest requested
+     * floor in the direction of the sweep; the sweep reverses when nothing is left ahead. A task which has
+     * waited longer than the starvation limit is served directly, whatever the sweep direction.
+     *
+     * @return The target floor
+     */
+    private int nextTarget() {
+        if (schedulingMode == SchedulingMode.PRIORITY) {
+            return taskQueue.peekFloor();
+        }
+        if (taskQueue.hasFloor(currentFloor)) {
+            return currentFloor;
+        }
+        int limit = starvationLimit >= 0 ? starvationLimit : 4 * elevatorManager.getTotalFloors();
+        if (taskQueue.peekPriority() < -limit) {
+            int starvedFloor = taskQueue.peekFloor();
+            sweepDirection = Integer.signum(starvedFloor - currentFloor);
+            return starvedFloor;
+        }
+        if (sweepDirection == 0) {
+            sweepDirection = taskQueue.peekFloor() >= currentFloor ? 1 : -1;
+        }
+        int ahead = sweepDirection > 0 ? taskQueue.nextFloorAbove(currentFloor) : taskQueue.nextFloorBelow(currentFloor);
+        if (ahead >= 0) {
+            return ahead;
+        }
+        sweepDirection = -sweepDirection;
+        int behind = sweepDirection > 0 ? taskQueue.nextFloorAbove(currentFloor) : taskQueue.nextFloorBelow(currentFloor);
+        return behind >= 0 ? behind : currentFloor;
+    }
+
+    /**
+     * Method to represent the elevator's information as a string.
+     */
+    @Override
+    public String toString() {
+        return "Elevator{" +
+                "elevatorNumber=" + elevatorNumber +
+                ", currentFloor=" + currentFloor +
+                ", motionState='" + motionState + '\'' +
+                ", taskQueue=" + taskQueue +
+                '}';
+    }
+}
@@ -0,0 +1,1130 @@
+package elevators;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Controller class for managing elevators and processing elevator requests.
+ */
+public class ElevatorController implements Checkpointable {
+    // List of elevators in the system
+    List<Elevator> liftList;
+    // Buffer to hold incoming elevator requests
+    BlockingQueue<ElevatorRequest> requestBuffer;
+    // Thread-safe queues for holding requests specific to each floor
+    FloorBuffers floorBuffers;
+    // Total number of floors in the building
+    int totalFloors;
+    // Clock driving the main loop
+    private final SimulationClock clock;
+    // Duration of one tick of the main loop in milliseconds
+    private long tickMillis = 500;
+    // Whether processRequests renders the requests and the system state to the console
+    private boolean consoleOutput = true;
+    // Whether processRequests waits for requests instead of sleeping through whole ticks
+    private boolean eventDriven;
+    // Renderer of the system state used by processRequests, or null for a console renderer at the tick rate
+    private SnapshotRenderer snapshotRenderer;
+    // Renderer receiving snapshots while processRequests runs, or null when nothing is rendered
+    private SnapshotRenderer activeRenderer;
+    // Requests created since the last snapshot, kept only while a renderer is active
+    private final List<ElevatorRequest> createdRequests = new ArrayList<>();
+    // Number of created requests not kept since the last snapshot
+    private int droppedCreatedRequests;
+    // Largest number of created requests kept for one snapshot
+    private static final int MAX_CREATED_REQUESTS = 256;
+    // Maximum number of requests taken from the buffer in one tick
+    private int maxBatchPerTick = 1024;
+    // Reusable buffer for the requests drained in one tick
+    private final List<ElevatorRequest> ingestBatch = new ArrayList<>();
+    // Number of requests left in the buffer after the last drain
+    private int backlogDepth;
+    // Largest backlog observed after a drain
+    private int maxBacklogDepth;
+    // Algorithm choosing the elevator for each request
+    private DispatchStrategy dispatchStrategy = new HeuristicDispatchStrategy();
+    // Whether requests are grouped by destination and only board their assigned elevator
+    private boolean destinationDispatch;
+    // Largest difference between target floors of passengers grouped into one elevator
+    private int destinationGroupSpan = 2;
+    // Largest number of waiting passengers grouped into one elevator on a floor
+    private int destinationGroupLimit = 8;
+    // Kinematics of the cars, or null for one floor per tick and stops which cost no time
+    private MotionModel motionModel;
+    // Passengers left behind by full cars for whom no car with free room was found yet
+    private List<ElevatorRequest> deferredRequests = new ArrayList<>();
+    // Reusable list of the deferred passengers being retried, swapped with deferredRequests
+    private List<ElevatorRequest> retriedRequests = new ArrayList<>();
+    // Reusable list of the passengers left behind by the car which is boarding
+    private final List<ElevatorRequest> leftBehind = new ArrayList<>();
+    // Reusable list of elevators considered when a passenger is left behind
+    private final List<Elevator> redispatchCandidates = new ArrayList<>();
+    // Interval between re-evaluations of the hall calls waiting for a car, or 0 to keep every first assignment
+    private long reassignIntervalMillis;
+    // Time by which another car must arrive earlier before a hall call moves to it
+    private long reassignMarginMillis = 2000;
+    // Time of the last re-evaluation of the hall calls
+    private long lastReassignMillis;
+    // Cost model comparing the arrival times of the cars when hall calls are re-evaluated
+    private final EtaDispatchStrategy reassignEstimator = new EtaDispatchStrategy();
+    // Reusable list of the waiting passengers of one floor whose hall calls are re-evaluated
+    private final List<ElevatorRequest> reassignCandidates = new ArrayList<>();
+    // Number of hall calls moved by the current re-evaluation
+    private int reassignedInPass;
+    // Demand model choosing where idle cars wait, or null to leave them where they stopped
+    private PredictiveParking parking;
+    // Time of the last choice of parking floors
+    private long lastParkingMillis;
+    // Number of cars without tasks after the last tick
+    private int idleCars;
+    // Reusable list of the cars which are idle or parking
+    private final List<Elevator> parkingCandidates = new ArrayList<>();
+    // Histograms of passenger latencies, or null if latencies are not recorded
+    private LatencyRecorder latencyRecorder;
+    // Binary log of arrivals, assignments and car events, or null if nothing is logged
+    private EventLog eventLog;
+    // Floors where the cars stop, indexed by floor, or null if they serve every floor
+    private boolean[] servedFloors;
+    // Callback receiving every passenger delivered to the target floor, or null
+    private Consumer<ElevatorRequest> deliveryListener;
+    // Counters and gauges published over JMX and HTTP
+    private final ControllerMetrics metrics = new ControllerMetrics(this);
+    // Pool used to move elevators in parallel, or null to step them sequentially
+    private ForkJoinPool steppingPool;
+    // Smallest number of elevators moved by a single parallel task
+    private int parallelThreshold = 16;
+    // Which elevators stopped during the movement phase of the current tick
+    private boolean[] stoppedElevators;
+
+    /**
+     * Constructor to initialize the ElevatorController with the specified number of elevators and floors.
+     *
+     * @param totalLifts    The total number of elevators
+     * @param totalFloors   The total number of floors
+     * @param requestBuffer The shared buffer for elevator requests
+     */
+    public ElevatorController(int totalLifts, int totalFloors, BlockingQueue<ElevatorRequest> requestBuffer) {
+        this(totalLifts, totalFloors, requestBuffer, new RealTimeClock());
+    }
+
+    /**
+     * Constructor to initialize the ElevatorController with the specified number of elevators, floors and clock.
+     *
+     * @param totalLifts    The total number of elevators
+     * @param totalFloors   The total number of floors
+     * @param requestBuffer The shared buffer for elevator requests
+     * @param clock         The clock which defines how time passes between ticks
+     */
+    public ElevatorController(int totalLifts, int totalFloors, BlockingQueue<ElevatorRequest> requestBuffer, SimulationClock clock) {
+        liftList = new ArrayList<>();
+        for (int i = 0; i < totalLifts; i++) {
+            liftList.add(new Elevator(i, this));
+        }
+        this.requestBuffer = requestBuffer;
+        floorBuffers = new FloorBuffers(totalFloors);
+        this.totalFloors = totalFloors;
+        this.clock = clock;
+    }
+
+    // Getter for clock
+    public SimulationClock getClock() {
+        return clock;
+    }
+
+    // Getter for tickMillis
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    // Setter for tickMillis
+    public void setTickMillis(long tickMillis) {
+        this.tickMillis = tickMillis;
+    }
+
+    /**
+     * Method to replace the task queues of all elevators with queues created by the given factory,
+     * for example {@code PrimitiveTaskQueue::new}. It should be called before the simulation starts.
+     *
+     * @param taskQueueFactory The factory creating one task queue per elevator
+     */
+    public void setTaskQueueFactory(Supplier<TaskQueue> taskQueueFactory) {
+        for (Elevator elevator : liftList) {
+            elevator.setTaskQueue(taskQueueFactory.get());
+        }
+    }
+
+    // Getter for consoleOutput
+    public boolean isConsoleOutput() {
+        return consoleOutput;
+    }
+
+    // Setter for consoleOutput
+    public void setConsoleOutput(boolean consoleOutput) {
+        this.consoleOutput = consoleOutput;
+    }
+
+    // Getter for eventDriven
+    public boolean isEventDriven() {
+        return eventDriven;
+    }
+
+    /**
+     * Method to choose how {@link #processRequests()} waits between ticks. In event-driven mode a request is
+     * dispatched as soon as it arrives instead of at the next tick, and while the building is idle the loop
+     * blocks on the request buffer without ticking until the next request arrives, or until the parking floors
+     * are due to be chosen again when idle cars are parked.
+     *
+     * @param eventDriven True for the event-driven mode, false to tick at a fixed rate
+     */
+    public void setEventDriven(boolean eventDriven) {
+        this.eventDriven = eventDriven;
+    }
+
+    // Getter for snapshotRenderer
+    public SnapshotRenderer getSnapshotRenderer() {
+        return snapshotRenderer;
+    }
+
+    /**
+     * Method to set the renderer used by {@link #processRequests()}. The controller starts and stops it.
+     * Without a renderer, processRequests renders to the console at the tick rate if console output is enabled.
+     *
+     * @param snapshotRenderer The renderer, or null for the default console renderer
+     */
+    public void setSnapshotRenderer(SnapshotRenderer snapshotRenderer) {
+        this.snapshotRenderer = snapshotRenderer;
+    }
+
+    // Getter for maxBatchPerTick
+    public int getMaxBatchPerTick() {
+        return maxBatchPerTick;
+    }
+
+    // Setter for maxBatchPerTick
+    public void setMaxBatchPerTick(int maxBatchPerTick) {
+        if (maxBatchPerTick < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + maxBatchPerTick);
+        }
+        this.maxBatchPerTick = maxBatchPerTick;
+    }
+
+    // Getter for backlogDepth, the number of requests left in the buffer after the last tick
+    public int getBacklogDepth() {
+        return backlogDepth;
+    }
+
+    // Getter for maxBacklogDepth
+    public int getMaxBacklogDepth() {
+        return maxBacklogDepth;
+    }
+
+    // Getter for totalFloors
+    public int getTotalFloors() {
+        return totalFloors;
+    }
+
+    /**
+     * Method to restrict the cars to a set of floors, as for a bank of a tall building or an express shuttle.
+     * The cars pass the other floors without stopping, and cars standing on a floor which is not served
+     * are moved to the lowest served floor.
+     *
+     * @param floors The served floors, at least two
+     */
+    public void setServedFloors(int... floors) {
+        boolean[] served = new boolean[totalFloors + 1];
+        int lowest = Integer.MAX_VALUE;
+        int count = 0;
+        for (int floor : floors) {
+            if (floor < 1 || floor > totalFloors) {
+                throw new IllegalArgumentException("Floor outside the building: " + floor);
+            }
+            if (!served[floor]) {
+                served[floor] = true;
+                ++count;
+            }
+            lowest = Math.min(lowest, floor);
+        }
+        if (count < 2) {
+            throw new IllegalArgumentException("A bank must serve at least two floors");
+        }
+        servedFloors = served;
+        for (Elevator elevator : liftList) {
+            if (!served[elevator.getCurrentFloor()]) {
+                elevator.setCurrentFloor(lowest);
+            }
+        }
+    }
+
+    /**
+     * Method to check whether the cars stop on a floor.
+     *
+     * @param floor The floor number
+     * @return True if the floor is in the building and served by the cars, otherwise false
+     */
+    public boolean serves(int floor) {
+        return floor >= 1 && floor <= totalFloors && (servedFloors == null || servedFloors[floor]);
+    }
+
+    // Getter for deliveryListener
+    public Consumer<ElevatorRequest> getDeliveryListener() {
+        return deliveryListener;
+    }
+
+    /**
+     * Method to observe every passenger delivered to the target floor, or stop observing with null.
+     * The listener runs on the thread stepping the elevators, at the time of the delivery on the controller's clock.
+     *
+     * @param deliveryListener The callback receiving the request of every delivered passenger, or null
+     */
+    public void setDeliveryListener(Consumer<ElevatorRequest> deliveryListener) {
+        this.deliveryListener = deliveryListener;
+    }
+
+    // Getter for dispatchStrategy
+    public DispatchStrategy getDispatchStrategy() {
+        return dispatchStrategy;
+    }
+
+    // Setter for dispatchStrategy
+    public void setDispatchStrategy(DispatchStrategy dispatchStrategy) {
+        this.dispatchStrategy = dispatchStrategy;
+    }
+
+    // Getter for destinationDispatch
+    public boolean isDestinationDispatch() {
+        return destinationDispatch;
+    }
+
+    // Setter for destinationDispatch
+    public void setDestinationDispatch(boolean destinationDispatch) {
+        this.destinationDispatch = destinationDispatch;
+    }
+
+    // Setter for destinationGroupSpan
+    public void setDestinationGroupSpan(int destinationGroupSpan) {
+        this.destinationGroupSpan = destinationGroupSpan;
+    }
+
+    // Setter for destinationGroupLimit
+    public void setDestinationGroupLimit(int destinationGroupLimit) {
+        this.destinationGroupLimit = destinationGroupLimit;
+    }
+
+    /**
+     * Method to set how all elevators choose their next floor.
+     *
+     * @param schedulingMode The scheduling mode of the elevators
+     */
+    public void setSchedulingMode(Elevator.SchedulingMode schedulingMode) {
+        for (Elevator elevator : liftList) {
+            elevator.setSchedulingMode(schedulingMode);
+        }
+    }
+
+    // Getter for motionModel
+    public MotionModel getMotionModel() {
+        return motionModel;
+    }
+
+    // Setter for motionModel
+    public void setMotionModel(MotionModel motionModel) {
+        this.motionModel = motionModel;
+    }
+
+    /**
+     * Method to set the capacity of all cars.
+     *
+     * @param capacityPersons The largest number of passengers, or Integer.MAX_VALUE for no limit
+     * @param capacityKg      The largest load in kilograms, or Integer.MAX_VALUE for no limit
+     */
+    public void setCapacity(int capacityPersons, int capacityKg) {
+        for (Elevator elevator : liftList) {
+            elevator.setCapacity(capacityPersons, capacityKg);
+        }
+    }
+
+    // Getter for the number of passengers waiting for a car with free room
+    public int getDeferredRequestCount() {
+        return deferredRequests.size();
+    }
+
+    // Getter for reassignIntervalMillis
+    public long getReassignIntervalMillis() {
+        return reassignIntervalMillis;
+    }
+
+    /**
+     * Method to set how often the hall calls waiting for a car are re-evaluated. It should be called before
+     * the simulation starts.
+     *
+     * @param reassignIntervalMillis The interval in milliseconds, or 0 to keep every first assignment
+     */
+    public void setReassignIntervalMillis(long reassignIntervalMillis) {
+        this.reassignIntervalMillis = Math.max(0, reassignIntervalMillis);
+    }
+
+    // Setter for reassignMarginMillis
+    public void setReassignMarginMillis(long reassignMarginMillis) {
+        this.reassignMarginMillis = Math.max(0, reassignMarginMillis);
+    }
+
+    // Getter for parking
+    public PredictiveParking getParking() {
+        return parking;
+    }
+
+    /**
+     * Method to park idle cars where the next calls are expected, or leave them where they stopped with null.
+     * It should be called before the simulation starts.
+     *
+     * @param parking The demand model, or null
+     */
+    public void setParking(PredictiveParking parking) {
+        this.parking = parking;
+    }
+
+    /**
+     * Method to start parking idle cars with a new demand model sized for this building.
+     *
+     * @return The new demand model
+     */
+    public PredictiveParking enablePredictiveParking() {
+        parking = new PredictiveParking(totalFloors);
+        return parking;
+    }
+
+    // Getter for metrics
+    public ControllerMetrics getMetrics() {
+        return metrics;
+    }
+
+    // Getter for eventLog
+    public EventLog getEventLog() {
+        return eventLog;
+    }
+
+    /**
+     * Method to log the events of the system into a binary log, or stop logging with null.
+     * The log is owned by the caller, who is responsible for closing it.
+     *
+     * @param eventLog The log, or null
+     */
+    public void setEventLog(EventLog eventLog) {
+        this.eventLog = eventLog;
+    }
+
+    // Getter for latencyRecorder
+    public LatencyRecorder getLatencyRecorder() {
+        return latencyRecorder;
+    }
+
+    // Setter for latencyRecorder
+    public void setLatencyRecorder(LatencyRecorder latencyRecorder) {
+        this.latencyRecorder = latencyRecorder;
+    }
+
+    /**
+     * Method to start recording passenger latencies in new histograms sized for this building.
+     *
+     * @return The new recorder
+     */
+    public LatencyRecorder enableLatencyRecording() {
+        latencyRecorder = new LatencyRecorder(totalFloors, liftList.size());
+        return latencyRecorder;
+    }
+
+    // Getter for steppingPool
+    public ForkJoinPool getSteppingPool() {
+        return steppingPool;
+    }
+
+    /**
+     * Method to enable parallel stepping of the elevators on the given pool, or disable it with null.
+     * The pool is owned by the caller, who is responsible for shutting it down.
+     *
+     * @param steppingPool The pool for the movement phase, or null for sequential stepping
+     */
+    public void setSteppingPool(ForkJoinPool steppingPool) {
+        this.steppingPool = steppingPool;
+    }
+
+    // Setter for parallelThreshold
+    public void setParallelThreshold(int parallelThreshold) {
+        this.parallelThreshold = Math.max(1, parallelThreshold);
+    }
+
+    // Getter for floorBuffers
+    public FloorBuffers getFloorBuffers() {
+        return floorBuffers;
+    }
+
+    // Getter for liftList
+    public List<Elevator> getLiftList() {
+        return liftList;
+    }
+
+    /**
+     * Main loop to process incoming elevator requests and update elevator states.
+     * This method runs continuously to simulate the operation of the elevator system.
+     *
+     * @throws InterruptedException If the thread running this method is interrupted
+     */
+    public void processRequests() throws InterruptedException {
+        SnapshotRenderer renderer = snapshotRenderer;
+        if (renderer == null && consoleOutput) {
+            renderer = new SnapshotRenderer(System.out, tickMillis);
+        }
+        if (renderer != null) {
+            renderer.start();
+        }
+        activeRenderer = renderer;
+        try {
+            while (true) {
+                long tickStart = clock.currentTimeMillis();
+                tick();
+                boolean idle = eventDriven && isIdle();
+                if (renderer != null && (idle || renderer.wantsFrame())) {
+                    // Hand the current state of System to the renderer, always before going idle
+                    renderer.publish(new SystemSnapshot(this, createdRequests, droppedCreatedRequests));
+                    createdRequests.clear();
+                    droppedCreatedRequests = 0;
+                }
+
+                try {
+                    if (idle) {
+                        // Nothing moves until somebody calls a car, so wait for the next request and tick at once
+                        long idleStart = clock.currentTimeMillis();
+                        if (parking == null) {
+                            acceptRequest(requestBuffer.take());
+                        } else {
+                            // Wake up for the next choice of parking floors, which the following tick makes
+                            long untilParking = lastParkingMillis + parking.getIntervalMillis() - idleStart;
+                            ElevatorRequest request = clock.poll(requestBuffer, Math.max(1, untilParking));
+                            if (request != null) {
+                                acceptRequest(request);
+                            }
+                        }
+                        metrics.recordIdleWait(clock.currentTimeMillis() - idleStart);
+                    } else if (eventDriven) {
+                        awaitNextTick(tickStart + tickMillis);
+                    } else {
+                        // Simulate the system working for a short period
+                        clock.sleep(tickMillis);
+                    }
+                } catch (InterruptedException e) {
+                    System.err.println("Elevator operation interrupted");
+                    break;
+                }
+            }
+        } finally {
+            activeRenderer = null;
+            createdRequests.clear();
+            if (renderer != null) {
+                renderer.stop();
+            }
+        }
+    }
+
+    /**
+     * Method to wait until the time of the next tick, dispatching every request as soon as it arrives.
+     *
+     * @param nextTick The time of the next tick on the controller's clock
+     * @throws InterruptedException If the thread is interrupted while waiting
+     */
+    private void awaitNextTick(long nextTick) throws InterruptedException {
+        for (long remaining = nextTick - clock.currentTimeMillis(); remaining > 0; remaining = nextTick - clock.currentTimeMillis()) {
+            ElevatorRequest request = clock.poll(requestBuffer, remaining);
+            if (request == null) {
+                return;
+            }
+            acceptRequest(request);
+            ingestRequests();
+        }
+    }
+
+    /**
+     * Method to check whether the building is idle: every car stands without tasks and nobody is waiting
+     * on a floor, for a car with free room or in the request buffer.
+     *
+     * @return True if nothing changes until the next request arrives, otherwise false
+     */
+    public boolean isIdle() {
+        if (!requestBuffer.isEmpty() || !deferredRequests.isEmpty()) {
+            return false;
+        }
+        for (Elevator elevator : liftList) {
+            if (elevator.getMotionState() != Elevator.MotionState.IDLE || !elevator.getTaskQueue().isEmpty()) {
+                return false;
+            }
+        }
+        for (int floor = 1; floor <= totalFloors; floor++) {
+            if (!floorBuffers.isEmpty(floor)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Method to perform one tick of the controller: take the waiting requests from the buffer
+     * and move every elevator by one step.
+     */
+    public void tick() {
+        long startNanos = System.nanoTime();
+        ingestRequests();
+        if (reassignIntervalMillis > 0 && clock.currentTimeMillis() - lastReassignMillis >= reassignIntervalMillis) {
+            lastReassignMillis = clock.currentTimeMillis();
+            reassignHallCalls();
+        }
+
+        // Update each elevator's state
+        stepElevators();
+        if (parking != null) {
+            int idle = 0;
+            for (Elevator elevator : liftList) {
+                if (elevator.getTaskQueue().isEmpty()) {
+                    ++idle;
+                }
+            }
+            // Park the cars which became idle in this tick, and move the parked ones as the demand changes
+            if (idle > idleCars || clock.currentTimeMillis() - lastParkingMillis >= parking.getIntervalMillis()) {
+                parkIdleCars();
+            }
+            idleCars = idle;
+        }
+        metrics.recordTick(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Method to drain up to {@code maxBatchPerTick} requests from the buffer without blocking
+     * and dispatch them, so everything that arrived before the tick is handled in the same tick.
+     *
+     * @return The number of dispatched requests
+     */
+    public int ingestRequests() {
+        int count = requestBuffer.drainTo(ingestBatch, maxBatchPerTick);
+        for (int i = 0; i < count; ++i) {
+            acceptRequest(ingestBatch.get(i));
+        }
+        ingestBatch.clear();
+
+        backlogDepth = requestBuffer.size();
+        maxBacklogDepth = Math.max(maxBacklogDepth, backlogDepth);
+        return count;
+    }
+
+    /**
+     * Method to dispatch a request taken from the buffer, keeping it for the next snapshot while rendering.
+     *
+     * @param request The elevator request
+     */
+    private void acceptRequest(ElevatorRequest request) {
+        if (activeRenderer != null) {
+            if (createdRequests.size() < MAX_CREATED_REQUESTS) {
+                createdRequests.add(request);
+            } else {
+                ++droppedCreatedRequests;
+            }
+        }
+        dispatchRequest(request);
+    }
+
+    /**
+     * Method to put a request on its floor and assign it to the most suitable elevator.
+     * Requests without a creation time are stamped as created now.
+     * In destination dispatch mode the request first tries to join a group of passengers waiting on the same floor
+     * for the same direction with nearby targets, and then shares their elevator instead of making a new hall call.
+     *
+     * @param request The elevator request
+     * @return The elevator which received the request, or null if there are no elevators
+     * @throws IllegalArgumentException If the cars do not serve the start or the target floor
+     */
+    public Elevator dispatchRequest(ElevatorRequest request) {
+        if (servedFloors != null && !(serves(request.getStartFloor()) && serves(request.getTargetFloor()))) {
+            throw new IllegalArgumentException("Floors " + request.getStartFloor() + " -> " + request.getTargetFloor() + " are not served");
+        }
+        long now = clock.currentTimeMillis();
+        if (request.getCreatedMillis() < 0) {
+            request.setCreatedMillis(now);
+        }
+        request.setDispatchedMillis(now);
+        metrics.recordDispatch();
+        if (parking != null) {
+            parking.recordArrival(request.getStartFloor(), now);
+        }
+        if (latencyRecorder != null) {
+            latencyRecorder.recordDispatch(request);
+        }
+        if (eventLog != null) {
+            eventLog.log(now, EventLog.Type.ARRIVAL, -1, request.getStartFloor(), request.getPassengerId(), request.getTargetFloor());
+        }
+        Elevator needElevator = destinationDispatch ? findDestinationGroup(request) : null;
+        if (needElevator == null) {
+            needElevator = selectOptimalElevator(request);
+            if (needElevator != null) {
+                needElevator.addRequest(request.getStartFloor(), request.getPassengerId(), ElementQueue.Purpose.Take);
+            }
+        }
+        if (needElevator != null) {
+            request.setAssignedElevator(needElevator.getElevatorNumber());
+            if (eventLog != null) {
+                eventLog.log(now, EventLog.Type.ASSIGN, needElevator.getElevatorNumber(), request.getStartFloor(), request.getPassengerId(), 0);
+            }
+        }
+        floorBuffers.add(request);
+        return needElevator;
+    }
+
+    /**
+     * Method to find the elevator of a group of waiting passengers which the request can join.
+     *
+     * @param request The elevator request
+     * @return The elevator of a compatible group which is not full yet, or null if there is none
+     */
+    private Elevator findDestinationGroup(ElevatorRequest request) {
+        int floor = request.getStartFloor();
+        ElevatorRequest companion = floorBuffers.find(floor, other -> other.getAssignedElevator() >= 0
+                && other.getDirection() == request.getDirection()
+                && Math.abs(other.getTargetFloor() - request.getTargetFloor()) <= destinationGroupSpan);
+        if (companion == null) {
+            return null;
+        }
+        int elevatorNumber = companion.getAssignedElevator();
+        int groupSize = floorBuffers.count(floor, other -> other.getAssignedElevator() == elevatorNumber);
+        return groupSize < destinationGroupLimit ? liftList.get(elevatorNumber) : null;
+    }
+
+    /**
+     * Method to perform one step of every elevator in the system.
+     * The elevators first all move, each touching only its own state, and then the stopped ones board
+     * their passengers one by one in elevator order. Boarding may change the tasks of other cars, by dropping
+     * the pickup of a passenger who boarded another car or by calling a car for a passenger left behind, so those
+     * changes only take effect from the next step. In parallel mode the movement phase runs concurrently;
+     * since movement never reads the floor buffers, this gives exactly the same result as the sequential mode.
+     */
+    public void stepElevators() {
+        if (stoppedElevators == null || stoppedElevators.length != liftList.size()) {
+            stoppedElevators = new boolean[liftList.size()];
+        }
+        if (steppingPool == null || liftList.size() <= parallelThreshold) {
+            for (int i = 0; i < stoppedElevators.length; i++) {
+                stoppedElevators[i] = liftList.get(i).move();
+            }
+        } else {
+            steppingPool.invoke(new MoveTask(0, liftList.size()));
+        }
+        for (int i = 0; i < stoppedElevators.length; i++) {
+            if (stoppedElevators[i]) {
+                Elevator elevator = liftList.get(i);
+                call(elevator.getElevatorNumber(), elevator.getCurrentFloor());
+            }
+        }
+    }
+
+    /**
+     * Task moving a range of elevators, split in halves until it is small enough.
+     */
+    private class MoveTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int from; // First elevator of the range
+        private final int to; // Elevator after the last one of the range
+
+        MoveTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= parallelThreshold) {
+                for (int i = from; i < to; i++) {
+                    stoppedElevators[i] = liftList.get(i).move();
+                }
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new MoveTask(from, middle), new MoveTask(middle, to));
+            }
+        }
+    }
+
+    /**
+     * The method of telling the elevator to the controller that it has stopped on a certain floor.
+     * Passengers board until the car is full; in destination dispatch mode only the passengers assigned
+     * to this elevator board it. Passengers of this elevator who did not fit get a new hall call.
+     *
+     * @param elevatorNumber The number of the elevator to be called
+     * @param floor          The floor number where the elevator is called
+     */
+    public void call(int elevatorNumber, int floor) {
+        Elevator elevator = liftList.get(elevatorNumber);
+        if (destinationDispatch) {
+            floorBuffers.drain(floor, req -> (req.getAssignedElevator() == elevatorNumber || req.getAssignedElevator() < 0)
+                    && elevator.canBoard(req), elevator::board);
+        } else {
+            floorBuffers.drain(floor, elevator::canBoard, req -> board(elevator, req));
+        }
+        if (!floorBuffers.isEmpty(floor)) {
+            // Collected first, so other cars are not called while the floor is locked
+            floorBuffers.forEach(floor, req -> req.getAssignedElevator() == elevatorNumber, leftBehind::add);
+            for (ElevatorRequest request : leftBehind) {
+                redispatch(request, elevator);
+            }
+            leftBehind.clear();
+        }
+        if (!deferredRequests.isEmpty()) {
+            retryDeferredRequests();
+        }
+    }
+
+    /**
+     * Method to let a passenger board a car which stopped on the floor. If the passenger was assigned
+     * to another car, that car no longer needs to come for them.
+     *
+     * @param elevator The car the passenger boards
+     * @param request  The request of the passenger
+     */
+    private void board(Elevator elevator, ElevatorRequest request) {
+        int assigned = request.getAssignedElevator();
+        if (assigned >= 0 && assigned != elevator.getElevatorNumber()
+                && liftList.get(assigned).cancelTake(request.getStartFloor(), request.getPassengerId())) {
+            metrics.recordCancelledTake();
+        }
+        elevator.board(request);
+    }
+
+    /**
+     * Method to re-evaluate the hall calls of all waiting passengers and move each one to another car
+     * if that car would arrive at least {@code reassignMarginMillis} earlier than the assigned one,
+     * by the arrival times of {@link EtaDispatchStrategy}. Passengers grouped by destination dispatch
+     * keep their car, since moving one of them would split the group.
+     *
+     * @return The number of hall calls moved to another car
+     */
+    public int reassignHallCalls() {
+        if (destinationDispatch || liftList.size() < 2) {
+            return 0;
+        }
+        reassignedInPass = 0;
+        for (int floor = 1; floor <= totalFloors; floor++) {
+            if (!floorBuffers.isEmpty(floor)) {
+                // Collected first, so the cars are not scored and changed while the floor is locked
+                floorBuffers.forEach(floor, req -> req.getAssignedElevator() >= 0, reassignCandidates::add);
+                for (ElevatorRequest request : reassignCandidates) {
+                    reassign(request);
+                }
+                reassignCandidates.clear();
+            }
+        }
+        return reassignedInPass;
+    }
+
+    /**
+     * Method to move a hall call to the car which would arrive first, if it beats the assigned car by the margin.
+     *
+     * @param request The request of a waiting passenger
+     */
+    private void reassign(ElevatorRequest request) {
+        Elevator assigned = liftList.get(request.getAssignedElevator());
+        long bestEta = reassignEstimator.computeScore(assigned, request, this) - reassignMarginMillis;
+        Elevator best = null;
+        for (Elevator elevator : liftList) {
+            if (elevator != assigned && elevator.canBoard(request)) {
+                long eta = reassignEstimator.computeScore(elevator, request, this);
+                if (eta < bestEta) {
+                    bestEta = eta;
+                    best = elevator;
+                }
+            }
+        }
+        if (best == null) {
+            return;
+        }
+        assigned.cancelTake(request.getStartFloor(), request.getPassengerId());
+        best.addRequest(request.getStartFloor(), request.getPassengerId(), ElementQueue.Purpose.Take);
+        request.setAssignedElevator(best.getElevatorNumber());
+        metrics.recordReassignment();
+        ++reassignedInPass;
+        if (eventLog != null) {
+            eventLog.log(clock.currentTimeMillis(), EventLog.Type.ASSIGN, best.getElevatorNumber(), request.getStartFloor(), request.getPassengerId(), 0);
+        }
+    }
+
+    /**
+     * Method to send the cars without tasks, and the cars already on their way to park, to the floors
+     * where {@link PredictiveParking} expects the next calls. The lowest car takes the lowest floor and so on,
+     * which keeps the total distance driven to the parking floors as small as possible.
+     *
+     * @return The number of cars which started moving to a new parking floor
+     */
+    public int parkIdleCars() {
+        if (parking == null) {
+            return 0;
+        }
+        lastParkingMillis = clock.currentTimeMillis();
+        parkingCandidates.clear();
+        for (Elevator elevator : liftList) {
+            if (elevator.getTaskQueue().isEmpty() || elevator.getParkingFloor() >= 0) {
+                parkingCandidates.add(elevator);
+            }
+        }
+        int[] floors = parking.parkingFloors(parkingCandidates.size(), this);
+        int moved = 0;
+        if (floors != null) {
+            parkingCandidates.sort(Comparator.comparingInt(Elevator::getCurrentFloor));
+            for (int i = 0; i < floors.length; i++) {
+                if (parkingCandidates.get(i).park(floors[i])) {
+                    metrics.recordParkingMove();
+                    ++moved;
+                }
+            }
+        }
+        parkingCandidates.clear();
+        return moved;
+    }
+
+    /**
+     * Method to make a new hall call for a passenger left behind by a full car.
+     * Only cars with room for the passenger are considered; if there are none, the passenger waits
+     * until a car lets someone out.
+     *
+     * @param request  The request of the passenger
+     * @param excluded The car which left the passenger behind
+     */
+    private void redispatch(ElevatorRequest request, Elevator excluded) {
+        redispatchCandidates.clear();
+        for (Elevator elevator : liftList) {
+            if (elevator != excluded && elevator.canBoard(request)) {
+                redispatchCandidates.add(elevator);
+            }
+        }
+        Elevator needElevator = redispatchCandidates.isEmpty() ? null : dispatchStrategy.selectElevator(request, redispatchCandidates, this);
+        redispatchCandidates.clear();
+        if (needElevator == null) {
+            request.setAssignedElevator(-1);
+            deferredRequests.add(request);
+        } else {
+            needElevator.addRequest(request.getStartFloor(), request.getPassengerId(), ElementQueue.Purpose.Take);
+            request.setAssignedElevator(needElevator.getElevatorNumber());
+            if (eventLog != null) {
+                eventLog.log(clock.currentTimeMillis(), EventLog.Type.ASSIGN, needElevator.getElevatorNumber(), request.getStartFloor(), request.getPassengerId(), 0);
+            }
+        }
+    }
+
+    /**
+     * Method to find cars for the passengers who were left behind while every car was full.
+     */
+    private void retryDeferredRequests() {
+        // Passengers still without a car are deferred again into the emptied list
+        List<ElevatorRequest> pending = deferredRequests;
+        deferredRequests = retriedRequests;
+        retriedRequests = pending;
+        for (ElevatorRequest request : pending) {
+            // Requests which got an elevator meanwhile have boarded a car stopping on their floor
+            if (request.getAssignedElevator() < 0) {
+                redispatch(request, null);
+            }
+        }
+        pending.clear();
+    }
+
+    /**
+     * Method to write the clock, the waiting passengers, the state of every elevator, the times of the last
+     * re-evaluations and the demand learned for parking.
+     * Only the thread running the controller may call it, between two ticks.
+     *
+     * @param out The stream to write to
+     * @throws IOException If the stream cannot be written
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        out.writeInt(totalFloors);
+        out.writeInt(liftList.size());
+        out.writeLong(clock.currentTimeMillis());
+        out.writeInt(backlogDepth);
+        out.writeInt(maxBacklogDepth);
+
+        ElevatorRequest[] buffered = requestBuffer.toArray(new ElevatorRequest[0]);
+        out.writeInt(buffered.length);
+        for (ElevatorRequest request : buffered) {
+            Checkpoint.writeRequest(out, request);
+        }
+
+        // Passengers left behind are also waiting on their floors, so they are written as references
+        Map<ElevatorRequest, Integer> waitingIndex = new IdentityHashMap<>();
+        for (int floor = 1; floor <= totalFloors; floor++) {
+            List<ElevatorRequest> waiting = floorBuffers.snapshot(floor);
+            out.writeInt(waiting.size());
+            for (ElevatorRequest request : waiting) {
+                waitingIndex.put(request, waitingIndex.size());
+                Checkpoint.writeRequest(out, request);
+            }
+        }
+        out.writeInt(deferredRequests.size());
+        for (ElevatorRequest request : deferredRequests) {
+            Integer index = waitingIndex.get(request);
+            if (index == null) {
+                throw new IllegalStateException("Deferred passenger " + request.getPassengerId() + " is not waiting on a floor");
+            }
+            out.writeInt(index);
+        }
+
+        for (Elevator elevator : liftList) {
+            elevator.writeState(out);
+        }
+
+        out.writeLong(lastReassignMillis);
+        out.writeLong(lastParkingMillis);
+        out.writeInt(idleCars);
+        out.writeBoolean(parking != null);
+        if (parking != null) {
+            out.writeLong(parking.getWindowMillis());
+            out.writeLong(parking.getBucketMillis());
+            out.writeLong(parking.getSlotMillis());
+            parking.writeState(out);
+        }
+    }
+
+    /**
+     * Method to restore the state written by {@link #writeState(DataOutput)} into a new controller of the same building.
+     * A virtual clock is advanced to the saved time; a real-time clock keeps its time. The learned demand is
+     * restored if this controller parks idle cars, whose demand model must have the saved window and slots.
+     *
+     * @param in The stream to read from
+     * @throws IOException If the stream cannot be read, belongs to a different building or holds an invalid value
+     */
+    @Override
+    public void readState(DataInput in) throws IOException {
+        int floors = in.readInt();
+        int cars = in.readInt();
+        if (floors != totalFloors || cars != liftList.size()) {
+            throw new IOException("Checkpoint of " + cars + " cars and " + floors + " floors does not fit "
+                    + liftList.size() + " cars and " + totalFloors + " floors");
+        }
+        for (int floor = 1; floor <= totalFloors; floor++) {
+            if (!floorBuffers.isEmpty(floor)) {
+                throw new IllegalStateException("Passengers are already waiting on floor " + floor);
+            }
+        }
+        long time = in.readLong();
+        if (clock instanceof VirtualClock) {
+            if (time < clock.currentTimeMillis()) {
+                throw new IOException("Checkpoint time " + time + " is before the clock time " + clock.currentTimeMillis());
+            }
+            ((VirtualClock) clock).advanceTo(time);
+        }
+        backlogDepth = Checkpoint.readInt(in, "backlog depth", 0, Integer.MAX_VALUE);
+        maxBacklogDepth = Checkpoint.readInt(in, "largest backlog depth", backlogDepth, Integer.MAX_VALUE);
+
+        int buffered = Checkpoint.readInt(in, "number of buffered requests", 0, Integer.MAX_VALUE);
+        for (int i = 0; i < buffered; i++) {
+            requestBuffer.add(Checkpoint.readRequest(in, this));
+        }
+
+        List<ElevatorRequest> waiting = new ArrayList<>();
+        for (int floor = 1; floor <= totalFloors; floor++) {
+            int count = Checkpoint.readInt(in, "number of passengers waiting on floor " + floor, 0, Integer.MAX_VALUE);
+            for (int k = 0; k < count; k++) {
+                ElevatorRequest request = Checkpoint.readRequest(in, this);
+                if (request.getStartFloor() != floor) {
+                    throw new IOException("Passenger " + request.getPassengerId() + " from floor " + request.getStartFloor()
+                            + " is waiting on floor " + floor + " in checkpoint");
+                }
+                waiting.add(request);
+                floorBuffers.add(request);
+            }
+        }
+        deferredRequests.clear();
+        int deferred = Checkpoint.readInt(in, "number of deferred passengers", 0, waiting.size());
+        for (int i = 0; i < deferred; i++) {
+            deferredRequests.add(waiting.get(Checkpoint.readInt(in, "deferred passenger", 0, waiting.size() - 1)));
+        }
+
+        for (Elevator elevator : liftList) {
+            elevator.readState(in);
+        }
+
+        lastReassignMillis = in.readLong();
+        lastParkingMillis = in.readLong();
+        idleCars = Checkpoint.readInt(in, "number of idle cars", 0, cars);
+        if (in.readBoolean()) {
+            long windowMillis = in.readLong();
+            long bucketMillis = in.readLong();
+            long slotMillis = in.readLong();
+            if (parking == null) {
+                // The demand learned by the saved run is dropped when this run does not park idle cars
+                Checkpoint.skip(in, PredictiveParking.stateBytes(totalFloors, windowMillis, bucketMillis, slotMillis));
+            } else if (windowMillis != parking.getWindowMillis() || bucketMillis != parking.getBucketMillis()
+                    || slotMillis != parking.getSlotMillis()) {
+                throw new IOException("Checkpoint of a demand model with window " + windowMillis + ", bucket " + bucketMillis
+                        + " and slot " + slotMillis + " ms does not fit window " + parking.getWindowMillis() + ", bucket "
+                        + parking.getBucketMillis() + " and slot " + parking.getSlotMillis() + " ms");
+            } else {
+                parking.readState(in);
+            }
+        }
+    }
+
+    /**
+     * Method to select the optimal elevator to handle a given request.
+     *
+     * @param request The elevator request
+     * @return The optimal elevator to handle the request
+     */
+    Elevator selectOptimalElevator(ElevatorRequest request) {
+        return dispatchStrategy.selectElevator(request, liftList, this);
+    }
+
+    /**
+     * Method to print the current state of the elevator system.
+     * Displays information about each elevator including its number, current floor, direction, and requests.
+     * Also prints the current state of each floor's request buffer, showing the origin and destination floors of pending requests.
+     * It also visualizes the movement of elevators and waiting people in the terminal
+     */
+    public void printSystemState() {
+        // Print elevator information
+        System.out.println("Elevator Information:\n");
+        for (Elevator elevator : liftList) {
+            System.out.println("Elevator " + elevator.getElevatorNumber() + ":");
+            System.out.println("  Current Floor: " + elevator.getCurrentFloor());
+            System.out.println("  Direction: " + elevator.getMotionState());
+            System.out.println("  Requests:");
+            for (ElementQueue request : elevator.getTaskQueue()) {
+                System.out.println("    Floor: " + request.getFloor() + ", Passenger ID: " + request.getIdPerson() + ", Purpose: " + request.getPurpose());
+            }
+            System.out.println();
+        }
+
+        // Print floor buffer information
+        System.out.println("Information about people waiting on the floors:");
+        for (int i = totalFloors; i >= 1; i--) {
+            System.out.println("Floor " + i + " Requests:");
+            List<ElevatorRequest> queue = floorBuffers.snapshot(i);
+            for (ElevatorRequest request : queue) {
+                System.out.println("  From Floor: " + request.getStartFloor() + ", To Floor: " + request.getTargetFloor() + ", Passenger ID: " + request.getPassengerId());
+            }
+        }
+        System.out.println("\n\n");
+    }
+
+    /**
+     * Method to print the current state of the elevator system together with a picture of the shaft
+     * and the passengers on board. The output is built in one buffer and written at once.
+     */
+    public void printSystemState1() {
+        StringBuilder out = new StringBuilder(8192);
+        new SystemSnapshot(this, List.of(), 0).render(out);
+        System.out.print(out);
+    }
+}
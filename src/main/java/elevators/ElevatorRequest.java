@@ -0,0 +1,210 @@
+package elevators;
+
+/**
+ * This class represents a request made by a passenger to use an elevator.
+ */
+public class ElevatorRequest {
+    // Instance variables
+    private int startFloor; // Floor from which the request is made
+    private int targetFloor; // Destination floor
+    private int passengerId; // Passenger ID
+    private int assignedElevator = -1; // Number of the elevator assigned to the request, or -1
+    private int weightKg = DEFAULT_WEIGHT_KG; // Weight of the passenger in kilograms
+    private long createdMillis = -1; // Time the request was made, or -1 if unknown
+    private long dispatchedMillis = -1; // Time the request was put on its floor, or -1
+    private long boardedMillis = -1; // Time the passenger boarded a car, or -1
+    private long tripCreatedMillis = -1; // Time the whole trip was requested when this request is one leg of it, or -1
+    private int bank = -1; // Index of the bank serving the request in a building with several banks, or -1
+    private ElevatorRequest nextLeg; // Request for the rest of the trip after a transfer, or null
+
+    // Weight assumed for a passenger when none is given
+    public static final int DEFAULT_WEIGHT_KG = 75;
+
+    /**
+     * Constructor to initialize an elevator request with start floor, target floor, and passenger ID.
+     *
+     * @param startFloor  The floor from which the request is made
+     * @param targetFloor The destination floor for the request
+     * @param passengerId The ID of the passenger making the request
+     */
+    public ElevatorRequest(int startFloor, int targetFloor, int passengerId) {
+        this.startFloor = startFloor;
+        this.targetFloor = targetFloor;
+        this.passengerId = passengerId;
+    }
+
+    // Getter and setter methods for instance variables...
+
+    /**
+     * Method to get the start floor of the elevator request.
+     *
+     * @return The start floor of the request
+     */
+    public int getStartFloor() {
+        return startFloor;
+    }
+
+    /**
+     * Method to set the start floor of the elevator request.
+     *
+     * @param startFloor The start floor to set
+     */
+    public void setStartFloor(int startFloor) {
+        this.startFloor = startFloor;
+    }
+
+    /**
+     * Method to get the target floor of the elevator request.
+     *
+     * @return The target floor of the request
+     */
+    public int getTargetFloor() {
+        return targetFloor;
+    }
+
+    /**
+     * Method to set the target floor of the elevator request.
+     *
+     * @param targetFloor The target floor to set
+     */
+    public void setTargetFloor(int targetFloor) {
+        this.targetFloor = targetFloor;
+    }
+
+    /**
+     * Method to get the passenger ID associated with the elevator request.
+     *
+     * @return The passenger ID of the request
+     */
+    public int getPassengerId() {
+        return passengerId;
+    }
+
+    /**
+     * Method to set the passenger ID associated with the elevator request.
+     *
+     * @param passengerId The passenger ID to set
+     */
+    public void setPassengerId(int passengerId) {
+        this.passengerId = passengerId;
+    }
+
+    /**
+     * Method to get the number of the elevator assigned to the request.
+     *
+     * @return The elevator number, or -1 if the request is not assigned yet
+     */
+    public int getAssignedElevator() {
+        return assignedElevator;
+    }
+
+    /**
+     * Method to set the number of the elevator assigned to the request.
+     *
+     * @param assignedElevator The elevator number, or -1 to clear the assignment
+     */
+    public void setAssignedElevator(int assignedElevator) {
+        this.assignedElevator = assignedElevator;
+    }
+
+    /**
+     * Method to get the weight of the passenger.
+     *
+     * @return The weight in kilograms
+     */
+    public int getWeightKg() {
+        return weightKg;
+    }
+
+    /**
+     * Method to set the weight of the passenger.
+     *
+     * @param weightKg The weight in kilograms
+     */
+    public void setWeightKg(int weightKg) {
+        this.weightKg = weightKg;
+    }
+
+    // Getter for createdMillis
+    public long getCreatedMillis() {
+        return createdMillis;
+    }
+
+    // Setter for createdMillis
+    public void setCreatedMillis(long createdMillis) {
+        this.createdMillis = createdMillis;
+    }
+
+    // Getter for dispatchedMillis
+    public long getDispatchedMillis() {
+        return dispatchedMillis;
+    }
+
+    // Setter for dispatchedMillis
+    public void setDispatchedMillis(long dispatchedMillis) {
+        this.dispatchedMillis = dispatchedMillis;
+    }
+
+    // Getter for boardedMillis
+    public long getBoardedMillis() {
+        return boardedMillis;
+    }
+
+    // Setter for boardedMillis
+    public void setBoardedMillis(long boardedMillis) {
+        this.boardedMillis = boardedMillis;
+    }
+
+    // Getter for tripCreatedMillis
+    public long getTripCreatedMillis() {
+        return tripCreatedMillis;
+    }
+
+    // Setter for tripCreatedMillis
+    public void setTripCreatedMillis(long tripCreatedMillis) {
+        this.tripCreatedMillis = tripCreatedMillis;
+    }
+
+    // Getter for bank
+    public int getBank() {
+        return bank;
+    }
+
+    // Setter for bank
+    public void setBank(int bank) {
+        this.bank = bank;
+    }
+
+    // Getter for nextLeg
+    public ElevatorRequest getNextLeg() {
+        return nextLeg;
+    }
+
+    // Setter for nextLeg
+    public void setNextLeg(ElevatorRequest nextLeg) {
+        this.nextLeg = nextLeg;
+    }
+
+    /**
+     * Method to get the direction of travel of the request.
+     *
+     * @return 1 for a trip up, -1 for a trip down
+     */
+    public int getDirection() {
+        return Integer.signum(targetFloor - startFloor);
+    }
+
+    /**
+     * Overridden toString method to represent the elevator request as a string.
+     *
+     * @return A string representation of the elevator request
+     */
+    @Override
+    public String toString() {
+        return "Request{" +
+                "startFloor=" + startFloor +
+                ", targetFloor=" + targetFloor +
+                ", passengerId=" + passengerId +
+                '}';
+    }
+}
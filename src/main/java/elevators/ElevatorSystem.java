@@ -1,3 +1,5 @@
+package elevators;
+
 /**
  * This class represents a thread for managing elevators and processing elevator requests.
  */
@@ -0,0 +1,119 @@
+package elevators;
+
+/**
+ * This class represents a cost model based on the estimated time of arrival of each elevator at the calling floor.
+ * An elevator moving away from the call first finishes its sweep to the farthest task in its direction,
+ * and every queued stop on the way adds the time of a stop. When the controller has a {@link MotionModel},
+ * flights and door cycles take their kinematic times and a moving car cannot stop within its stopping distance. A full car cannot take anybody before it lets someone out,
+ * so it is charged a trip through the whole building.
+ */
+public class EtaDispatchStrategy extends ScoringDispatchStrategy {
+    private final long stopMillis; // Time lost for each intermediate stop, or -1 to use one tick
+
+    /**
+     * Constructor to initialize the strategy where a stop costs one controller tick.
+     */
+    public EtaDispatchStrategy() {
+        this(-1);
+    }
+
+    /**
+     * Constructor to initialize the strategy with a fixed cost of a stop.
+     *
+     * @param stopMillis The time lost for each intermediate stop in milliseconds
+     */
+    public EtaDispatchStrategy(long stopMillis) {
+        this.stopMillis = stopMillis;
+    }
+
+    /**
+     * Method to estimate the time until the elevator reaches the calling floor.
+     *
+     * @param lift       The elevator being scored
+     * @param request    The elevator request
+     * @param controller The controller asking for the decision
+     * @return The estimated time of arrival in milliseconds
+     */
+    @Override
+    protected long computeScore(Elevator lift, ElevatorRequest request, ElevatorController controller) {
+        MotionModel motionModel = controller.getMotionModel();
+        long floorMillis = controller.getTickMillis();
+        long stopCost = stopMillis >= 0 ? stopMillis : motionModel != null ? motionModel.getDoorCycleMillis() : floorMillis;
+        int current = lift.getCurrentFloor();
+        int target = request.getStartFloor();
+        TaskQueue tasks = lift.getTaskQueue();
+        if (tasks.isEmpty()) {
+            return travelMillis(Math.abs(current - target), 0, floorMillis, motionModel);
+        }
+
+        // Direction of travel, taken from the next task when the elevator is standing
+        int direction;
+        if (lift.getMotionState() == Elevator.MotionState.UP) {
+            direction = 1;
+        } else if (lift.getMotionState() == Elevator.MotionState.DOWN) {
+            direction = -1;
+        } else {
+            direction = Integer.signum(tasks.peekFloor() - current);
+        }
+
+        // Turning point of the current sweep: the farthest task in the direction of travel
+        int turn = current;
+        for (ElementQueue task : tasks) {
+            if ((task.getFloor() - turn) * direction > 0) {
+                turn = task.getFloor();
+            }
+        }
+
+        // A moving car cannot stop closer than its stopping distance
+        int stoppingFloors = motionModel != null ? motionModel.stoppingFloors(lift.getRunFloors()) : 0;
+        boolean ahead = direction == 0 || ((target - current) * direction >= 0 && Math.abs(target - current) >= stoppingFloors);
+        if (!ahead && (turn - current) * direction < stoppingFloors) {
+            turn = current + direction * stoppingFloors;
+        }
+
+        int low;
+        int high;
+        long floors;
+        if (ahead) {
+            // The call lies ahead of the elevator
+            floors = Math.abs(target - current);
+            low = Math.min(current, target);
+            high = Math.max(current, target);
+        } else {
+            // The elevator has to finish its sweep first
+            floors = Math.abs(turn - current) + Math.abs(turn - target);
+            low = Math.min(Math.min(current, target), turn);
+            high = Math.max(Math.max(current, target), turn);
+        }
+
+        int stops = 0;
+        for (ElementQueue task : tasks) {
+            if (task.getFloor() >= low && task.getFloor() <= high && task.getFloor() != target) {
+                ++stops;
+            }
+        }
+        long eta = travelMillis(floors, stops, floorMillis, motionModel) + stops * stopCost;
+        if (!lift.canBoard(request)) {
+            eta += travelMillis(controller.getTotalFloors(), 0, floorMillis, motionModel);
+        }
+        return eta;
+    }
+
+    /**
+     * Method to estimate the driving time over a number of floors split by intermediate stops.
+     * With a motion model the floors are split evenly between the stops and every part is a separate flight.
+     *
+     * @param floors      The number of floors to travel
+     * @param stops       The number of intermediate stops
+     * @param floorMillis The time per floor without a motion model
+     * @param motionModel The kinematics of the car, or null
+     * @return The driving time in milliseconds
+     */
+    private static long travelMillis(long floors, int stops, long floorMillis, MotionModel motionModel) {
+        if (motionModel == null) {
+            return floors * floorMillis;
+        }
+        int flights = stops + 1;
+        return flights * motionModel.flightMillis((int) ((floors + flights - 1) / flights));
+    }
+}
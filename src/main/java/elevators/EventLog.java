@@ -0,0 +1,154 @@
+package elevators;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class writes an append-only binary log of the decisions and movements of the elevator system.
+ * Every event is a fixed-width record of {@value #RECORD_SIZE} bytes, collected in a preallocated direct buffer
+ * and written to the file channel only when the buffer is full, so logging an event costs a few stores.
+ * The file starts with a header of {@value #HEADER_SIZE} bytes: the magic number, the format version
+ * and the record size. Records hold, in little-endian order:
+ * <pre>
+ *   long time       time of the controller's clock in milliseconds
+ *   int  type       ordinal of {@link Type}
+ *   int  car        elevator number, or -1
+ *   int  floor      floor where the event happened
+ *   int  passenger  passenger ID, or -1
+ *   int  value      target floor for ARRIVAL and BOARD, direction for MOVE, otherwise 0
+ *   int  reserved   always 0
+ * </pre>
+ * Several elevators may move concurrently, so writing is synchronized; the lock is uncontended in sequential runs.
+ * Use {@link EventLogReader} to read a log back.
+ */
+public class EventLog implements Closeable {
+    // Magic number at the start of every log, "ELOG"
+    public static final int MAGIC = 0x474F4C45;
+    // Version of the record layout
+    public static final int VERSION = 1;
+    // Size of the file header in bytes
+    public static final int HEADER_SIZE = 16;
+    // Size of one record in bytes
+    public static final int RECORD_SIZE = 32;
+    // Default size of the write buffer in bytes
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 22;
+
+    // Enumeration of the logged events
+    public enum Type {
+        ARRIVAL, // A passenger made a request on a floor
+        ASSIGN,  // A car was chosen to serve a passenger
+        MOVE,    // A car passed to the next floor
+        STOP,    // A car stopped to serve a floor
+        BOARD,   // A passenger boarded a car
+        ALIGHT   // A passenger left a car at the destination
+    }
+
+    private final Path path; // The log file
+    private final FileChannel channel; // Channel the records are written to
+    private final ByteBuffer buffer; // Direct buffer collecting records before they are written
+    private long records; // Number of records logged
+
+    /**
+     * Constructor to create a log file, replacing an existing one, with the default buffer size.
+     *
+     * @param path The log file
+     * @throws IOException If the file cannot be created
+     */
+    public EventLog(Path path) throws IOException {
+        this(path, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructor to create a log file, replacing an existing one.
+     *
+     * @param path       The log file
+     * @param bufferSize The size of the write buffer in bytes, rounded down to whole records
+     * @throws IOException If the file cannot be created
+     */
+    public EventLog(Path path, int bufferSize) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        int records = Math.max(1, bufferSize / RECORD_SIZE);
+        this.buffer = ByteBuffer.allocateDirect(Math.max(HEADER_SIZE, records * RECORD_SIZE)).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(RECORD_SIZE).putInt(0);
+    }
+
+    // Getter for path
+    public Path getPath() {
+        return path;
+    }
+
+    // Getter for the number of records logged
+    public synchronized long getRecords() {
+        return records;
+    }
+
+    /**
+     * Method to append one event to the log.
+     *
+     * @param time      The time of the controller's clock in milliseconds
+     * @param type      The kind of event
+     * @param car       The elevator number, or -1
+     * @param floor     The floor where the event happened
+     * @param passenger The passenger ID, or -1
+     * @param value     The target floor for arrivals and boardings, the direction for moves, otherwise 0
+     */
+    public synchronized void log(long time, Type type, int car, int floor, int passenger, int value) {
+        if (buffer.remaining() < RECORD_SIZE) {
+            flushBuffer();
+        }
+        buffer.putLong(time)
+                .putInt(type.ordinal())
+                .putInt(car)
+                .putInt(floor)
+                .putInt(passenger)
+                .putInt(value)
+                .putInt(0);
+        ++records;
+    }
+
+    /**
+     * Method to write all buffered records to the file.
+     */
+    public synchronized void flush() {
+        flushBuffer();
+    }
+
+    /**
+     * Method to write the buffered records and close the file.
+     *
+     * @throws IOException If the file cannot be written or closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (!channel.isOpen()) {
+            return;
+        }
+        try {
+            flushBuffer();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            channel.close();
+        }
+    }
+
+    // Writes the content of the buffer to the channel and empties it
+    private void flushBuffer() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error writing event log " + path, e);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,162 @@
+package elevators;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class streams the records of a binary event log written by {@link EventLog}.
+ * The file is read through a fixed direct buffer, so logs of any size can be read in constant memory.
+ * The reader is a cursor: {@link #next()} moves to the next record, whose fields are read with the getters.
+ */
+public class EventLogReader implements Closeable {
+    // Default size of the read buffer in bytes
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 22;
+
+    private final FileChannel channel; // Channel the records are read from
+    private final ByteBuffer buffer; // Direct buffer holding the records read but not consumed yet
+    private final EventLog.Type[] types = EventLog.Type.values(); // Event types by ordinal
+    private long time; // Time of the current record
+    private EventLog.Type type; // Type of the current record
+    private int car; // Elevator number of the current record
+    private int floor; // Floor of the current record
+    private int passenger; // Passenger ID of the current record
+    private int value; // Type-specific value of the current record
+
+    /**
+     * Constructor to open a log and check its header.
+     *
+     * @param path The log file
+     * @throws IOException If the file cannot be read or is not an event log of a known version
+     */
+    public EventLogReader(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        buffer = ByteBuffer.allocateDirect(DEFAULT_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.flip();
+        if (!fill(EventLog.HEADER_SIZE)) {
+            channel.close();
+            throw new IOException("Event log " + path + " is too short");
+        }
+        int magic = buffer.getInt();
+        int version = buffer.getInt();
+        int recordSize = buffer.getInt();
+        buffer.getInt();
+        if (magic != EventLog.MAGIC || version != EventLog.VERSION || recordSize != EventLog.RECORD_SIZE) {
+            channel.close();
+            throw new IOException("Not an event log of version " + EventLog.VERSION + ": " + path);
+        }
+    }
+
+    /**
+     * Method to move to the next record.
+     *
+     * @return True if there is a record, false at the end of the log
+     * @throws IOException If the file cannot be read
+     */
+    public boolean next() throws IOException {
+        if (!fill(EventLog.RECORD_SIZE)) {
+            return false;
+        }
+        time = buffer.getLong();
+        type = types[buffer.getInt()];
+        car = buffer.getInt();
+        floor = buffer.getInt();
+        passenger = buffer.getInt();
+        value = buffer.getInt();
+        buffer.getInt();
+        return true;
+    }
+
+    // Getter for the time of the current record
+    public long getTime() {
+        return time;
+    }
+
+    // Getter for the type of the current record
+    public EventLog.Type getType() {
+        return type;
+    }
+
+    // Getter for the elevator number of the current record
+    public int getCar() {
+        return car;
+    }
+
+    // Getter for the floor of the current record
+    public int getFloor() {
+        return floor;
+    }
+
+    // Getter for the passenger ID of the current record
+    public int getPassenger() {
+        return passenger;
+    }
+
+    // Getter for the target floor or direction of the current record
+    public int getValue() {
+        return value;
+    }
+
+    /**
+     * Method to close the log.
+     *
+     * @throws IOException If the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // Reads from the file until the buffer holds at least the given number of bytes, returns false at the end
+    private boolean fill(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return true;
+        }
+        buffer.compact();
+        while (buffer.position() < bytes) {
+            if (channel.read(buffer) < 0) {
+                buffer.flip();
+                return false;
+            }
+        }
+        buffer.flip();
+        return true;
+    }
+
+    /**
+     * Method to print the records of a log, or only a summary with the number of records of each type.
+     * Usage: {@code java elevators.EventLogReader <file> [number of records to print]}
+     *
+     * @param args The log file and the number of records to print
+     * @throws IOException If the file cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: java elevators.EventLogReader <file> [records to print]");
+            System.exit(2);
+        }
+        long limit = args.length > 1 ? Long.parseLong(args[1]) : 0;
+        long[] counts = new long[EventLog.Type.values().length];
+        long total = 0;
+        long lastTime = 0;
+        try (EventLogReader reader = new EventLogReader(Path.of(args[0]))) {
+            while (reader.next()) {
+                if (total < limit) {
+                    System.out.printf("%10d %-7s car=%d floor=%d passenger=%d value=%d%n", reader.getTime(), reader.getType(),
+                            reader.getCar(), reader.getFloor(), reader.getPassenger(), reader.getValue());
+                }
+                ++counts[reader.getType().ordinal()];
+                ++total;
+                lastTime = reader.getTime();
+            }
+        }
+        System.out.println("Records: " + total + ", last time: " + lastTime + " ms");
+        for (EventLog.Type type : EventLog.Type.values()) {
+            System.out.println("  " + type + ": " + counts[type.ordinal()]);
+        }
+    }
+}
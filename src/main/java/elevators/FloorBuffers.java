@@ -0,0 +1,263 @@
+package elevators;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * This class holds the people waiting on each floor and can be shared by several threads.
+ * Floors are guarded by a fixed number of striped locks, so threads working on different floors rarely
+ * contend, and the number of waiting people per floor can be read without taking any lock.
+ */
+public class FloorBuffers {
+    // Default number of lock stripes
+    private static final int DEFAULT_STRIPES = 64;
+
+    private final ArrayDeque<ElevatorRequest>[] queues; // Waiting requests of each floor
+    private final ReentrantLock[] locks; // Striped locks, floor i is guarded by locks[i % locks.length]
+    private final AtomicIntegerArray waitingCounts; // Number of waiting requests of each floor
+
+    /**
+     * Constructor to initialize empty buffers for the specified number of floors.
+     *
+     * @param totalFloors The total number of floors
+     */
+    public FloorBuffers(int totalFloors) {
+        this(totalFloors, DEFAULT_STRIPES);
+    }
+
+    /**
+     * Constructor to initialize empty buffers with the specified number of lock stripes.
+     *
+     * @param totalFloors The total number of floors
+     * @param stripes     The number of locks shared by the floors
+     */
+    @SuppressWarnings("unchecked")
+    public FloorBuffers(int totalFloors, int stripes) {
+        queues = (ArrayDeque<ElevatorRequest>[]) new ArrayDeque<?>[totalFloors];
+        for (int i = 0; i < totalFloors; i++) {
+            queues[i] = new ArrayDeque<>();
+        }
+        locks = new ReentrantLock[Math.max(1, Math.min(stripes, totalFloors))];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        waitingCounts = new AtomicIntegerArray(totalFloors);
+    }
+
+    /**
+     * Method to get the number of floors.
+     *
+     * @return The number of floors
+     */
+    public int getTotalFloors() {
+        return queues.length;
+    }
+
+    /**
+     * Method to put a request into the buffer of its start floor.
+     *
+     * @param request The elevator request
+     */
+    public void add(ElevatorRequest request) {
+        int index = request.getStartFloor() - 1;
+        ReentrantLock lock = lockFor(index);
+        lock.lock();
+        try {
+            queues[index].add(request);
+            waitingCounts.incrementAndGet(index);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method to remove all requests waiting on a floor and hand them to the consumer.
+     * The consumer runs while the floor is locked, so every request is boarded exactly once.
+     *
+     * @param floor    The floor number
+     * @param consumer The action performed for each removed request
+     * @return The number of removed requests
+     */
+    public int drain(int floor, Consumer<ElevatorRequest> consumer) {
+        int index = floor - 1;
+        if (waitingCounts.get(index) == 0) {
+            return 0;
+        }
+        ReentrantLock lock = lockFor(index);
+        lock.lock();
+        try {
+            ArrayDeque<ElevatorRequest> queue = queues[index];
+            int count = 0;
+            ElevatorRequest request;
+            while ((request = queue.poll()) != null) {
+                consumer.accept(request);
+                ++count;
+            }
+            waitingCounts.addAndGet(index, -count);
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method to remove the requests waiting on a floor which match a filter and hand them to the consumer.
+     * The other requests keep waiting in their original order.
+     *
+     * @param floor    The floor number
+     * @param filter   The condition a request must meet to be removed
+     * @param consumer The action performed for each removed request
+     * @return The number of removed requests
+     */
+    public int drain(int floor, Predicate<ElevatorRequest> filter, Consumer<ElevatorRequest> consumer) {
+        int index = floor - 1;
+        if (waitingCounts.get(index) == 0) {
+            return 0;
+        }
+        ReentrantLock lock = lockFor(index);
+        lock.lock();
+        try {
+            int count = 0;
+            Iterator<ElevatorRequest> iterator = queues[index].iterator();
+            while (iterator.hasNext()) {
+                ElevatorRequest request = iterator.next();
+                if (filter.test(request)) {
+                    iterator.remove();
+                    consumer.accept(request);
+                    ++count;
+                }
+            }
+            waitingCounts.addAndGet(index, -count);
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method to find the first request waiting on a floor which matches a condition.
+     *
+     * @param floor  The floor number
+     * @param filter The condition to match
+     * @return The first matching request, or null if there is none
+     */
+    public ElevatorRequest find(int floor, Predicate<ElevatorRequest> filter) {
+        int index = floor - 1;
+        if (waitingCounts.get(index) == 0) {
+            return null;
+        }
+        ReentrantLock lock = lockFor(index);
+        lock.lock();
+        try {
+            for (ElevatorRequest request : queues[index]) {
+                if (filter.test(request)) {
+                    return request;
+                }
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method to perform an action for every request waiting on a floor which matches a condition,
+     * leaving the requests in the buffer.
+     *
+     * @param floor    The floor number
+     * @param filter   The condition to match
+     * @param consumer The action performed for each matching request
+     */
+    public void forEach(int floor, Predicate<ElevatorRequest> filter, Consumer<ElevatorRequest> consumer) {
+        int index = floor - 1;
+        if (waitingCounts.get(index) == 0) {
+            return;
+        }
+        ReentrantLock lock = lockFor(index);
+        lock.lock();
+        try {
+            for (ElevatorRequest request : queues[index]) {
+                if (filter.test(request)) {
+                    consumer.accept(request);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method to count the requests waiting on a floor which match a condition.
+     *
+     * @param floor  The floor number
+     * @param filter The condition to match
+     * @return The number of matching requests
+     */
+    public int count(int floor, Predicate<ElevatorRequest> filter) {
+        int index = floor - 1;
+        if (waitingCounts.get(index) == 0) {
+            return 0;
+        }
+        ReentrantLock lock = lockFor(index);
+        lock.lock();
+        try {
+            int count = 0;
+            for (ElevatorRequest request : queues[index]) {
+                if (filter.test(request)) {
+                    ++count;
+                }
+            }
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method to get the number of requests waiting on a floor without locking.
+     *
+     * @param floor The floor number
+     * @return The number of waiting requests
+     */
+    public int waitingCount(int floor) {
+        return waitingCounts.get(floor - 1);
+    }
+
+    /**
+     * Method to check whether nobody is waiting on a floor.
+     *
+     * @param floor The floor number
+     * @return True if the floor has no waiting requests, otherwise false
+     */
+    public boolean isEmpty(int floor) {
+        return waitingCount(floor) == 0;
+    }
+
+    /**
+     * Method to copy the requests waiting on a floor.
+     *
+     * @param floor The floor number
+     * @return A list with the waiting requests in arrival order
+     */
+    public List<ElevatorRequest> snapshot(int floor) {
+        int index = floor - 1;
+        ReentrantLock lock = lockFor(index);
+        lock.lock();
+        try {
+            return new ArrayList<>(queues[index]);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Returns the lock guarding the floor with the given index
+    private ReentrantLock lockFor(int index) {
+        return locks[index % locks.length];
+    }
+}
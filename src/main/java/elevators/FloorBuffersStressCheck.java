@@ -0,0 +1,156 @@
+package elevators;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Predicate;
+
+/**
+ * This class checks {@link FloorBuffers} under contention. Several ingest threads add passengers to random
+ * floors while several car threads keep boarding random floors; afterwards every passenger must have been
+ * boarded exactly once. The check runs twice:
+ * <ul>
+ * <li>with unfiltered drains, where every car boards everyone waiting on a floor;</li>
+ * <li>with the filtered drain, {@code forEach} and {@code count}, where every passenger is assigned to one car
+ * and each car only looks at and boards its own passengers. As no other thread removes them, a car must never
+ * see a passenger who already boarded, nor board fewer passengers of a floor than it just counted or visited.</li>
+ * </ul>
+ * The process exits with a non-zero status if a passenger was lost or boarded twice, or a car saw an inconsistent floor.
+ * Usage: {@code java elevators.FloorBuffersStressCheck [passengers per ingest thread] [floors]}
+ */
+public class FloorBuffersStressCheck {
+    private static final int INGEST_THREADS = 4;
+    private static final int CAR_THREADS = 8;
+
+    public static void main(String[] args) throws InterruptedException {
+        int perThread = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        int floors = args.length > 1 ? Integer.parseInt(args[1]) : 12;
+
+        boolean passed = run("Unfiltered drain", false, perThread, floors);
+        passed &= run("Filtered drain, forEach and count", true, perThread, floors);
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Method to run one round of the check and print its outcome.
+     *
+     * @param name      The name of the round
+     * @param filtered  Whether the cars only board their own passengers with the filtered operations
+     * @param perThread The number of passengers added by each ingest thread
+     * @param floors    The number of floors
+     * @return Whether every passenger was boarded exactly once and no car saw an inconsistent floor
+     * @throws InterruptedException If the thread is interrupted while waiting for the other threads
+     */
+    private static boolean run(String name, boolean filtered, int perThread, int floors) throws InterruptedException {
+        int passengers = perThread * INGEST_THREADS;
+        FloorBuffers buffers = new FloorBuffers(floors, 4);
+        AtomicIntegerArray boardings = new AtomicIntegerArray(passengers);
+        AtomicInteger inconsistencies = new AtomicInteger();
+        AtomicBoolean ingesting = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+
+        Thread[] ingestThreads = new Thread[INGEST_THREADS];
+        for (int t = 0; t < INGEST_THREADS; t++) {
+            int first = t * perThread;
+            ingestThreads[t] = new Thread(() -> {
+                Random random = new Random(first);
+                await(start);
+                for (int id = first; id < first + perThread; id++) {
+                    ElevatorRequest request = new ElevatorRequest(random.nextInt(floors) + 1, 1, id);
+                    if (filtered) {
+                        request.setAssignedElevator(id % CAR_THREADS);
+                    }
+                    buffers.add(request);
+                }
+            });
+        }
+        Thread[] carThreads = new Thread[CAR_THREADS];
+        for (int t = 0; t < CAR_THREADS; t++) {
+            int car = t;
+            carThreads[t] = new Thread(() -> {
+                Random random = new Random(1000 + car);
+                Predicate<ElevatorRequest> own = request -> request.getAssignedElevator() == car;
+                int[] visited = new int[1];
+                await(start);
+                while (ingesting.get()) {
+                    int floor = random.nextInt(floors) + 1;
+                    if (!filtered) {
+                        buffers.drain(floor, request -> boardings.incrementAndGet(request.getPassengerId()));
+                        continue;
+                    }
+                    int counted = buffers.count(floor, own);
+                    visited[0] = 0;
+                    buffers.forEach(floor, own, request -> {
+                        ++visited[0];
+                        if (request.getAssignedElevator() != car || boardings.get(request.getPassengerId()) != 0) {
+                            inconsistencies.incrementAndGet();
+                        }
+                    });
+                    int boarded = buffers.drain(floor, own, request -> {
+                        if (request.getAssignedElevator() != car) {
+                            inconsistencies.incrementAndGet();
+                        }
+                        boardings.incrementAndGet(request.getPassengerId());
+                    });
+                    // Passengers may only have been added since they were counted and visited
+                    if (boarded < counted || boarded < visited[0]) {
+                        inconsistencies.incrementAndGet();
+                    }
+                }
+            });
+        }
+
+        long startNanos = System.nanoTime();
+        for (Thread thread : ingestThreads) {
+            thread.start();
+        }
+        for (Thread thread : carThreads) {
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : ingestThreads) {
+            thread.join();
+        }
+        ingesting.set(false);
+        for (Thread thread : carThreads) {
+            thread.join();
+        }
+        // Board whoever is still waiting after the car threads stopped
+        for (int floor = 1; floor <= floors; floor++) {
+            buffers.drain(floor, request -> boardings.incrementAndGet(request.getPassengerId()));
+        }
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1000000;
+
+        int lost = 0;
+        int duplicated = 0;
+        for (int id = 0; id < passengers; id++) {
+            int count = boardings.get(id);
+            if (count == 0) {
+                ++lost;
+            } else if (count > 1) {
+                ++duplicated;
+            }
+        }
+        int stillWaiting = 0;
+        for (int floor = 1; floor <= floors; floor++) {
+            stillWaiting += buffers.waitingCount(floor);
+        }
+        System.out.println(name + ": passengers: " + passengers + ", lost: " + lost + ", boarded twice: " + duplicated
+                + ", counted as waiting: " + stillWaiting + ", inconsistent views: " + inconsistencies.get()
+                + " (" + elapsedMillis + " ms)");
+        return lost == 0 && duplicated == 0 && stillWaiting == 0 && inconsistencies.get() == 0;
+    }
+
+    // Waits for the start signal
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
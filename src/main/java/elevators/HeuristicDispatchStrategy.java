@@ -0,0 +1,38 @@
+package elevators;
+
+/**
+ * This class represents the original dispatch heuristic: distance to the call plus the length of the task queue,
+ * with a penalty of a third of the building for elevators moving away from the call. Loaded cars get a penalty
+ * growing with their load factor, up to the height of the building for a full car.
+ */
+public class HeuristicDispatchStrategy extends ScoringDispatchStrategy {
+    /**
+     * Method to compute a score for an elevator handling a given request.
+     *
+     * @param lift       The elevator being scored
+     * @param request    The elevator request
+     * @param controller The controller asking for the decision
+     * @return The score indicating the suitability of the elevator for the request
+     */
+    @Override
+    protected long computeScore(Elevator lift, ElevatorRequest request, ElevatorController controller) {
+        int distance = Math.abs(lift.getCurrentFloor() - request.getStartFloor());
+        int score = distance + lift.getTaskQueue().size();
+        if (lift.getTaskQueue().size() >= 3) {
+            score += lift.getTaskQueue().size();
+        }
+        if (!lift.getTaskQueue().isEmpty()) {
+            score += (lift.getTaskQueue().peekFloor() != request.getStartFloor()) ? 2 : 1;
+        }
+        if (lift.getLoad() > 0) {
+            score += (int) (lift.getLoadFactor() * controller.getTotalFloors() / 2);
+            if (lift.isFull()) {
+                score += controller.getTotalFloors() / 2;
+            }
+        }
+        if ((lift.getMotionState() == Elevator.MotionState.UP && request.getStartFloor() < lift.getCurrentFloor()) || (lift.getMotionState() == Elevator.MotionState.DOWN && request.getStartFloor() > lift.getCurrentFloor())) {
+            return score + controller.getTotalFloors() / 3;
+        }
+        return score;
+    }
+}
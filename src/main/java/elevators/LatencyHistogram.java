@@ -0,0 +1,151 @@
+package elevators;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This class represents a histogram of latencies in the style of an HDR histogram.
+ * Values below 128 are counted exactly, larger values fall into logarithmic buckets which are split
+ * into 64 linear sub-buckets, so every reported value is within 1.6% of the recorded one.
+ * Recording takes no lock and allocates nothing, so several threads may record into the same histogram.
+ */
+public class LatencyHistogram {
+    // Number of bits of a value which are kept exactly
+    private static final int SUB_BUCKET_BITS = 7;
+    // Number of values counted exactly
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    // Number of sub-buckets in every logarithmic bucket
+    private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT >> 1;
+    // Largest value which can be recorded, larger values are counted as this one (about two years in milliseconds)
+    public static final long HIGHEST_TRACKABLE_VALUE = (1L << 36) - 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(indexOf(HIGHEST_TRACKABLE_VALUE) + 1); // Count of every bucket
+    private final AtomicLong totalCount = new AtomicLong(); // Number of recorded values
+    private final AtomicLong totalSum = new AtomicLong(); // Sum of the recorded values
+    private final AtomicLong maxValue = new AtomicLong(); // Largest recorded value
+
+    /**
+     * Method to record a value. Negative values are recorded as 0.
+     *
+     * @param value The value to record
+     */
+    public void recordValue(long value) {
+        value = Math.max(0, Math.min(value, HIGHEST_TRACKABLE_VALUE));
+        counts.incrementAndGet(indexOf(value));
+        totalCount.incrementAndGet();
+        totalSum.addAndGet(value);
+        long max = maxValue.get();
+        while (value > max && !maxValue.compareAndSet(max, value)) {
+            max = maxValue.get();
+        }
+    }
+
+    /**
+     * Method to add all values recorded by another histogram to this one.
+     *
+     * @param other The histogram to add
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < counts.length(); i++) {
+            long count = other.counts.get(i);
+            if (count != 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+        totalCount.addAndGet(other.totalCount.get());
+        totalSum.addAndGet(other.totalSum.get());
+        long max = maxValue.get();
+        long otherMax = other.maxValue.get();
+        while (otherMax > max && !maxValue.compareAndSet(max, otherMax)) {
+            max = maxValue.get();
+        }
+    }
+
+    /**
+     * Method to forget all recorded values.
+     */
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+        totalCount.set(0);
+        totalSum.set(0);
+        maxValue.set(0);
+    }
+
+    // Getter for the number of recorded values
+    public long getTotalCount() {
+        return totalCount.get();
+    }
+
+    // Getter for the sum of the recorded values
+    public long getTotalSum() {
+        return totalSum.get();
+    }
+
+    // Getter for the largest recorded value
+    public long getMaxValue() {
+        return maxValue.get();
+    }
+
+    /**
+     * Method to get the mean of the recorded values.
+     *
+     * @return The mean, or 0 if nothing was recorded
+     */
+    public double getMean() {
+        long count = totalCount.get();
+        return count == 0 ? 0 : (double) totalSum.get() / count;
+    }
+
+    /**
+     * Method to get the value below which the given percentage of the recorded values lies.
+     *
+     * @param percentile The percentile between 0 and 100
+     * @return The highest value equivalent to the percentile, never more than the largest recorded value
+     */
+    public long getValueAtPercentile(double percentile) {
+        long count = totalCount.get();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(highestEquivalentValue(i), maxValue.get());
+            }
+        }
+        return maxValue.get();
+    }
+
+    /**
+     * Method to describe the histogram in one line.
+     *
+     * @return The count, p50, p95, p99 and maximum of the recorded values
+     */
+    public String summary() {
+        return String.format("n=%d p50=%d p95=%d p99=%d max=%d", getTotalCount(), getValueAtPercentile(50),
+                getValueAtPercentile(95), getValueAtPercentile(99), getMaxValue());
+    }
+
+    // Returns the bucket counting the given value
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF + (int) (value >>> shift) - SUB_BUCKET_HALF;
+    }
+
+    // Returns the largest value counted by the given bucket
+    private static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF + 1;
+        long subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF + SUB_BUCKET_HALF;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
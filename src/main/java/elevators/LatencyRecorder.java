@@ -0,0 +1,191 @@
+package elevators;
+
+import java.io.PrintStream;
+
+/**
+ * This class collects the latencies of passengers in histograms per floor and per car.
+ * The wait time runs from the creation of a request until the passenger boards, the ride time from boarding
+ * until delivery, and the journey time from creation until delivery. Floor histograms are keyed by the start
+ * floor of the passenger. The queueing delay between creation and dispatch is collected for the whole building.
+ * All times are in milliseconds of the controller's clock.
+ */
+public class LatencyRecorder {
+    private final LatencyHistogram[] waitByFloor; // Wait times by start floor
+    private final LatencyHistogram[] rideByFloor; // Ride times by start floor
+    private final LatencyHistogram[] journeyByFloor; // Journey times by start floor
+    private final LatencyHistogram[] waitByCar; // Wait times by boarded car
+    private final LatencyHistogram[] rideByCar; // Ride times by boarded car
+    private final LatencyHistogram[] journeyByCar; // Journey times by boarded car
+    private final LatencyHistogram dispatchDelay = new LatencyHistogram(); // Time requests spend in the request buffer
+
+    /**
+     * Constructor to initialize empty histograms for a building.
+     *
+     * @param totalFloors The total number of floors
+     * @param totalCars   The total number of cars
+     */
+    public LatencyRecorder(int totalFloors, int totalCars) {
+        waitByFloor = newHistograms(totalFloors);
+        rideByFloor = newHistograms(totalFloors);
+        journeyByFloor = newHistograms(totalFloors);
+        waitByCar = newHistograms(totalCars);
+        rideByCar = newHistograms(totalCars);
+        journeyByCar = newHistograms(totalCars);
+    }
+
+    /**
+     * Method to record that a request was put on its floor.
+     *
+     * @param request The dispatched request
+     */
+    public void recordDispatch(ElevatorRequest request) {
+        dispatchDelay.recordValue(request.getDispatchedMillis() - request.getCreatedMillis());
+    }
+
+    /**
+     * Method to record that a passenger boarded a car.
+     *
+     * @param request The request of the passenger
+     * @param car     The number of the car
+     */
+    public void recordBoarding(ElevatorRequest request, int car) {
+        long wait = request.getBoardedMillis() - request.getCreatedMillis();
+        waitByFloor[request.getStartFloor() - 1].recordValue(wait);
+        waitByCar[car].recordValue(wait);
+    }
+
+    /**
+     * Method to record that a passenger left a car at the destination.
+     *
+     * @param request         The request of the passenger
+     * @param car             The number of the car
+     * @param deliveredMillis The time of the delivery
+     */
+    public void recordDelivery(ElevatorRequest request, int car, long deliveredMillis) {
+        long ride = deliveredMillis - request.getBoardedMillis();
+        long journey = deliveredMillis - request.getCreatedMillis();
+        rideByFloor[request.getStartFloor() - 1].recordValue(ride);
+        rideByCar[car].recordValue(ride);
+        journeyByFloor[request.getStartFloor() - 1].recordValue(journey);
+        journeyByCar[car].recordValue(journey);
+    }
+
+    // Getter for the wait times of passengers starting on a floor
+    public LatencyHistogram getWaitByFloor(int floor) {
+        return waitByFloor[floor - 1];
+    }
+
+    // Getter for the ride times of passengers starting on a floor
+    public LatencyHistogram getRideByFloor(int floor) {
+        return rideByFloor[floor - 1];
+    }
+
+    // Getter for the journey times of passengers starting on a floor
+    public LatencyHistogram getJourneyByFloor(int floor) {
+        return journeyByFloor[floor - 1];
+    }
+
+    // Getter for the wait times of passengers of a car
+    public LatencyHistogram getWaitByCar(int car) {
+        return waitByCar[car];
+    }
+
+    // Getter for the ride times of passengers of a car
+    public LatencyHistogram getRideByCar(int car) {
+        return rideByCar[car];
+    }
+
+    // Getter for the journey times of passengers of a car
+    public LatencyHistogram getJourneyByCar(int car) {
+        return journeyByCar[car];
+    }
+
+    // Getter for dispatchDelay
+    public LatencyHistogram getDispatchDelay() {
+        return dispatchDelay;
+    }
+
+    /**
+     * Method to get the wait times of all passengers.
+     *
+     * @return A new histogram merging the histograms of all floors
+     */
+    public LatencyHistogram getTotalWait() {
+        return merge(waitByFloor);
+    }
+
+    /**
+     * Method to get the ride times of all passengers.
+     *
+     * @return A new histogram merging the histograms of all floors
+     */
+    public LatencyHistogram getTotalRide() {
+        return merge(rideByFloor);
+    }
+
+    /**
+     * Method to get the journey times of all passengers.
+     *
+     * @return A new histogram merging the histograms of all floors
+     */
+    public LatencyHistogram getTotalJourney() {
+        return merge(journeyByFloor);
+    }
+
+    /**
+     * Method to forget all recorded latencies, for example at the end of a warm-up period.
+     */
+    public void reset() {
+        for (LatencyHistogram[] histograms : new LatencyHistogram[][]{waitByFloor, rideByFloor, journeyByFloor, waitByCar, rideByCar, journeyByCar}) {
+            for (LatencyHistogram histogram : histograms) {
+                histogram.reset();
+            }
+        }
+        dispatchDelay.reset();
+    }
+
+    /**
+     * Method to print the latencies of the whole building.
+     *
+     * @param out The stream to print to
+     */
+    public void printSummary(PrintStream out) {
+        out.println("Wait time (ms):    " + getTotalWait().summary());
+        out.println("Ride time (ms):    " + getTotalRide().summary());
+        out.println("Journey time (ms): " + getTotalJourney().summary());
+    }
+
+    /**
+     * Method to print the latencies of every floor and every car.
+     *
+     * @param out The stream to print to
+     */
+    public void printReport(PrintStream out) {
+        printSummary(out);
+        out.println("Dispatch delay (ms): " + dispatchDelay.summary());
+        for (int floor = waitByFloor.length; floor >= 1; floor--) {
+            out.printf("Floor %2d wait: %s | journey: %s%n", floor, getWaitByFloor(floor).summary(), getJourneyByFloor(floor).summary());
+        }
+        for (int car = 0; car < waitByCar.length; car++) {
+            out.printf("Car %d wait: %s | ride: %s%n", car, waitByCar[car].summary(), rideByCar[car].summary());
+        }
+    }
+
+    // Creates the given number of empty histograms
+    private static LatencyHistogram[] newHistograms(int count) {
+        LatencyHistogram[] histograms = new LatencyHistogram[count];
+        for (int i = 0; i < count; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+        return histograms;
+    }
+
+    // Adds up the given histograms into a new one
+    private static LatencyHistogram merge(LatencyHistogram[] histograms) {
+        LatencyHistogram total = new LatencyHistogram();
+        for (LatencyHistogram histogram : histograms) {
+            total.add(histogram);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,391 @@
+package elevators;
+
+import javax.management.JMException;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * This class initializes and starts the elevator simulation system.
+ * It runs in real time and renders the building, or on a virtual clock with
+ * {@code java elevators.Main headless [simulated hours] [seed]}. It is configured with system properties.
+ * <p>
+ * Dispatch and cars:
+ * <ul>
+ * <li>{@code -Ddispatch=<heuristic|eta|zoned>} chooses the dispatch algorithm.</li>
+ * <li>{@code -DdestinationDispatch=true} enables destination dispatch.</li>
+ * <li>{@code -Dscheduling=look} makes the elevators sweep with the LOOK algorithm.</li>
+ * <li>{@code -Dcapacity=<persons>} and {@code -DcapacityKg=<kilograms>} set the car capacity.</li>
+ * <li>{@code -Dkinematics=true} makes headless runs use the default {@link MotionModel} instead of one floor per tick.</li>
+ * <li>{@code -DreassignMillis=<ms>} moves waiting hall calls to a car which would arrive earlier at this interval.</li>
+ * <li>{@code -Dparking=true} parks idle cars on the floors where {@link PredictiveParking} expects the next calls.</li>
+ * </ul>
+ * Passengers:
+ * <ul>
+ * <li>{@code -Dtrace=<file>} replays the passengers of a CSV or JSON lines trace instead of generating them.</li>
+ * <li>{@code -Dtraffic=<office|up-peak|down-peak|lunch|inter-floor|uniform>} with {@code -Drate=<arrivals per minute>}
+ * generates building traffic instead of uniform random requests.</li>
+ * </ul>
+ * Real-time runs:
+ * <ul>
+ * <li>{@code -DeventDriven=true} dispatches requests as soon as they arrive, and the controller sleeps
+ * until the next request while the building is idle.</li>
+ * <li>{@code -DframeMillis=<ms>} renders the state on a separate thread once per interval instead of once per tick,
+ * and {@code -Dquiet=true} does not render it at all.</li>
+ * </ul>
+ * Headless runs:
+ * <ul>
+ * <li>{@code -DlatencyReport=true} prints the wait, ride and journey time percentiles per floor and per car.</li>
+ * <li>{@code -DeventLog=<file>} writes a binary log of all decisions and car movements, which {@link EventLogReader} reads back.</li>
+ * <li>{@code -DsaveCheckpoint=<file>} saves the state at the end of the run and {@code -DrestoreCheckpoint=<file>}
+ * continues from a saved state, so several runs can share one warm-up.</li>
+ * <li>{@code -Dtopology=<banks>} simulates a tall building with several banks, express cars and sky lobbies
+ * as described in {@link BankedBuilding#parse(String)}, with {@code -DtransferMillis=<ms>} to change cars.</li>
+ * </ul>
+ * Metrics of real-time runs:
+ * <ul>
+ * <li>{@code -Djmx=true} publishes the controller metrics as MBeans.</li>
+ * <li>{@code -DmetricsPort=<port>} serves them in the Prometheus text format on {@code http://localhost:<port>/metrics},
+ * and {@code -DmetricsHost=<address>} listens on another address than the loopback interface.</li>
+ * </ul>
+ */
+public class Main {
+    public static void main(String[] args) {
+        // Dispatch algorithm selected at startup
+        DispatchStrategy dispatchStrategy = DispatchStrategy.forName(System.getProperty("dispatch", "heuristic"));
+
+        // Total number of floors and elevators in the building
+        int totalFloors = 12;
+        int totalElevators = 2;
+
+        // Creating a buffer for elevator requests
+        BlockingQueue<ElevatorRequest> requestBuffer = new LinkedBlockingQueue<>();
+
+        if (args.length > 0 && args[0].equals("headless") && System.getProperty("topology") != null) {
+            runBanked(BankedBuilding.parse(System.getProperty("topology")), args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("headless")) {
+            runHeadless(totalElevators, totalFloors, requestBuffer, dispatchStrategy, args);
+            return;
+        }
+
+        // Initializing the elevator controller with the specified number of elevators, floors, and request buffer
+        ElevatorController elevatorManager = new ElevatorController(totalElevators, totalFloors, requestBuffer);
+        configure(elevatorManager, dispatchStrategy);
+        elevatorManager.setEventDriven(Boolean.getBoolean("eventDriven"));
+
+        // Initializing the request generator with the total number of floors and request buffer,
+        // or the replay of a recorded trace if one is given
+        Runnable requestGenerator;
+        String trace = System.getProperty("trace");
+        try {
+            TrafficSchedule schedule = trafficSchedule();
+            if (trace != null) {
+                requestGenerator = new TraceRequestSource(Path.of(trace), totalFloors, requestBuffer);
+            } else if (schedule != null) {
+                requestGenerator = new TrafficGenerator(totalFloors, requestBuffer, schedule, Long.getLong("seed", System.nanoTime()));
+            } else {
+                requestGenerator = new RequestGenerator(totalFloors, requestBuffer);
+            }
+        } catch (IOException e) {
+            System.err.println("Error opening trace " + trace + ": " + e.getMessage());
+            return;
+        }
+
+        // Rendering the state of the system on its own thread at the requested frame rate
+        elevatorManager.setConsoleOutput(!Boolean.getBoolean("quiet"));
+        Long frameMillis = Long.getLong("frameMillis");
+        if (frameMillis != null && elevatorManager.isConsoleOutput()) {
+            elevatorManager.setSnapshotRenderer(new SnapshotRenderer(System.out, frameMillis));
+        }
+
+        // Publishing the metrics of the controller over JMX and HTTP if requested
+        if (Boolean.getBoolean("jmx")) {
+            try {
+                elevatorManager.getMetrics().registerMBeans();
+            } catch (JMException e) {
+                System.err.println("Error registering MBeans: " + e.getMessage());
+            }
+        }
+        MetricsHttpServer metricsServer = null;
+        Integer metricsPort = Integer.getInteger("metricsPort");
+        if (metricsPort != null) {
+            try {
+                String metricsHost = System.getProperty("metricsHost");
+                metricsServer = metricsHost == null
+                        ? new MetricsHttpServer(elevatorManager.getMetrics(), metricsPort)
+                        : new MetricsHttpServer(elevatorManager.getMetrics(), InetAddress.getByName(metricsHost), metricsPort);
+                metricsServer.start();
+            } catch (IOException e) {
+                System.err.println("Error starting the metrics server: " + e.getMessage());
+            }
+        }
+
+        // Initializing the elevator system with the elevator controller
+        ElevatorSystem elevatorSystem = new ElevatorSystem(elevatorManager);
+
+        // Creating threads for elevator system and request generator
+        Thread elevatorSystemThread = new Thread(elevatorSystem);
+        Thread requestGenThread = new Thread(requestGenerator);
+
+        // Starting the threads
+        elevatorSystemThread.start();
+        requestGenThread.start();
+
+        try {
+            // Running the simulation
+            Thread.sleep(30000);
+        } catch (InterruptedException e) {
+            System.err.println("Error in simulating system operation");
+        }
+
+        // Interrupting the request generator thread
+        requestGenThread.interrupt();
+        try {
+            requestGenThread.join();
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        }
+
+        // Interrupting the elevator system thread
+        elevatorSystemThread.interrupt();
+        try {
+            // Waiting for the elevator system thread to finish
+            elevatorSystemThread.join();
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        }
+        if (metricsServer != null) {
+            metricsServer.stop();
+        }
+    }
+
+    /**
+     * Method to run the simulation on a virtual clock without sleeping or printing every tick.
+     * Usage: {@code java elevators.Main headless [simulated hours] [seed]}
+     *
+     * @param totalElevators   The total number of elevators
+     * @param totalFloors      The total number of floors
+     * @param requestBuffer    The shared buffer for elevator requests
+     * @param dispatchStrategy The algorithm choosing elevators for requests
+     * @param args             The command line arguments
+     */
+    private static void runHeadless(int totalElevators, int totalFloors, BlockingQueue<ElevatorRequest> requestBuffer,
+                                    DispatchStrategy dispatchStrategy, String[] args) {
+        long hours = args.length > 1 ? Long.parseLong(args[1]) : 24;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42;
+
+        ElevatorController elevatorManager = new ElevatorController(totalElevators, totalFloors, requestBuffer, new VirtualClock());
+        configure(elevatorManager, dispatchStrategy);
+        LatencyRecorder latencyRecorder = elevatorManager.enableLatencyRecording();
+        RequestSource requestSource = headlessRequestSource(totalFloors, requestBuffer, seed);
+        if (requestSource == null) {
+            return;
+        }
+        try {
+            DiscreteEventSimulation simulation = new DiscreteEventSimulation(elevatorManager, requestSource);
+            // Restored before the event log is opened, so a failed restore leaves no log to close
+            String restorePath = System.getProperty("restoreCheckpoint");
+            if (restorePath != null) {
+                try {
+                    Checkpoint.restore(simulation, Path.of(restorePath));
+                } catch (IOException e) {
+                    System.err.println("Error restoring checkpoint " + restorePath + ": " + e.getMessage());
+                    return;
+                }
+            }
+
+            EventLog eventLog = null;
+            String eventLogPath = System.getProperty("eventLog");
+            if (eventLogPath != null) {
+                try {
+                    eventLog = new EventLog(Path.of(eventLogPath));
+                } catch (IOException e) {
+                    System.err.println("Error creating event log " + eventLogPath + ": " + e.getMessage());
+                    return;
+                }
+                elevatorManager.setEventLog(eventLog);
+            }
+
+            long startNanos = System.nanoTime();
+            simulation.run(hours * 3600 * 1000);
+            long elapsedMillis = Math.max(1, (System.nanoTime() - startNanos) / 1000000);
+
+            System.out.println("Simulated " + hours + " h in " + elapsedMillis + " ms");
+            System.out.println("Passengers: " + simulation.getArrivals() + ", events: " + simulation.getProcessedEvents()
+                    + " (" + simulation.getProcessedEvents() * 1000 / elapsedMillis + " events/s)");
+            long travelledFloors = 0;
+            for (Elevator elevator : elevatorManager.getLiftList()) {
+                travelledFloors += elevator.getTravelledFloors();
+            }
+            System.out.println("Floors travelled: " + travelledFloors);
+            String savePath = System.getProperty("saveCheckpoint");
+            if (savePath != null) {
+                try {
+                    Checkpoint.save(simulation, Path.of(savePath));
+                    System.out.println("Checkpoint saved to " + savePath);
+                } catch (IOException e) {
+                    System.err.println("Error saving checkpoint " + savePath + ": " + e.getMessage());
+                }
+            }
+            if (eventLog != null) {
+                try {
+                    eventLog.close();
+                    System.out.println("Event log: " + eventLog.getRecords() + " records in " + eventLog.getPath());
+                } catch (IOException e) {
+                    System.err.println("Error writing event log " + eventLogPath + ": " + e.getMessage());
+                }
+            }
+            if (Boolean.getBoolean("latencyReport")) {
+                latencyRecorder.printReport(System.out);
+            } else {
+                latencyRecorder.printSummary(System.out);
+            }
+            elevatorManager.printSystemState();
+        } finally {
+            close(requestSource);
+        }
+    }
+
+    /**
+     * Method to run a building with several banks of elevators, each bank simulated on its own thread.
+     * Usage: {@code java -Dtopology=<banks> elevators.Main headless [simulated hours] [seed]}
+     *
+     * @param building The building described by the system property {@code topology}
+     * @param args     The command line arguments
+     */
+    private static void runBanked(BankedBuilding building, String[] args) {
+        long hours = args.length > 1 ? Long.parseLong(args[1]) : 24;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42;
+        building.setTransferMillis(Long.getLong("transferMillis", building.getTransferMillis()));
+        List<LatencyRecorder> latencyRecorders = new ArrayList<>();
+        for (ElevatorController bank : building.getBanks()) {
+            // Every bank gets its own strategy, since strategies keep reusable state
+            configure(bank, DispatchStrategy.forName(System.getProperty("dispatch", "heuristic")));
+            latencyRecorders.add(bank.enableLatencyRecording());
+        }
+        RequestSource requestSource = headlessRequestSource(building.getTotalFloors(), new LinkedBlockingQueue<>(), seed);
+        if (requestSource == null) {
+            return;
+        }
+        try {
+            BankedSimulation simulation = new BankedSimulation(building, requestSource);
+            ExecutorService executor = Executors.newFixedThreadPool(
+                    Math.max(1, Math.min(building.getBanks().size(), Runtime.getRuntime().availableProcessors())));
+            simulation.setExecutor(executor);
+
+            long startNanos = System.nanoTime();
+            try {
+                simulation.run(hours * 3600 * 1000);
+            } catch (InterruptedException e) {
+                System.err.println("Simulation interrupted");
+                return;
+            } finally {
+                executor.shutdown();
+            }
+            long elapsedMillis = Math.max(1, (System.nanoTime() - startNanos) / 1000000);
+
+            System.out.println("Simulated " + hours + " h of " + building.getTotalFloors() + " floors and "
+                    + building.getBanks().size() + " banks in " + elapsedMillis + " ms");
+            System.out.println("Passengers: " + simulation.getArrivals() + ", delivered: " + simulation.getCompletedTrips()
+                    + ", transfers: " + simulation.getTransfers() + ", events: " + simulation.getProcessedEvents()
+                    + " (" + simulation.getProcessedEvents() * 1000 / elapsedMillis + " events/s)");
+            System.out.println("Journey time (ms): " + simulation.getJourney().summary());
+            for (int i = 0; i < building.getBanks().size(); i++) {
+                System.out.println("Bank " + i + " (" + building.describeBank(i) + ")");
+                System.out.println("  Wait time (ms): " + latencyRecorders.get(i).getTotalWait().summary());
+                System.out.println("  Ride time (ms): " + latencyRecorders.get(i).getTotalRide().summary());
+            }
+        } finally {
+            close(requestSource);
+        }
+    }
+
+    /**
+     * Method to apply the settings given by the system properties to a controller.
+     *
+     * @param controller       The controller to configure
+     * @param dispatchStrategy The algorithm choosing elevators for requests
+     */
+    private static void configure(ElevatorController controller, DispatchStrategy dispatchStrategy) {
+        controller.setDispatchStrategy(dispatchStrategy);
+        controller.setDestinationDispatch(Boolean.getBoolean("destinationDispatch"));
+        controller.setCapacity(Integer.getInteger("capacity", Integer.MAX_VALUE), Integer.getInteger("capacityKg", Integer.MAX_VALUE));
+        if (Boolean.getBoolean("kinematics")) {
+            controller.setMotionModel(new MotionModel());
+        }
+        controller.setSchedulingMode(Elevator.SchedulingMode.valueOf(System.getProperty("scheduling", "priority").toUpperCase()));
+        controller.setReassignIntervalMillis(Long.getLong("reassignMillis", 0));
+        if (Boolean.getBoolean("parking")) {
+            controller.enablePredictiveParking();
+        }
+    }
+
+    /**
+     * Method to create the source of passengers of a headless run: the trace given by {@code trace},
+     * the traffic given by {@code traffic}, or uniform random requests.
+     *
+     * @param totalFloors   The total number of floors
+     * @param requestBuffer The buffer passed to the request generator
+     * @param seed          The seed of generated requests
+     * @return The source, or null if the trace cannot be opened
+     */
+    private static RequestSource headlessRequestSource(int totalFloors, BlockingQueue<ElevatorRequest> requestBuffer, long seed) {
+        String trace = System.getProperty("trace");
+        try {
+            TrafficSchedule schedule = trafficSchedule();
+            if (trace != null) {
+                return new TraceRequestSource(Path.of(trace), totalFloors);
+            } else if (schedule != null) {
+                return new TrafficGenerator(totalFloors, schedule, seed);
+            } else {
+                return new RequestGenerator(totalFloors, requestBuffer, seed);
+            }
+        } catch (IOException e) {
+            System.err.println("Error opening trace " + trace + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Method to close the source of passengers of a headless run if it holds a file, such as a trace.
+     *
+     * @param requestSource The source
+     */
+    private static void close(RequestSource requestSource) {
+        if (requestSource instanceof Closeable) {
+            try {
+                ((Closeable) requestSource).close();
+            } catch (IOException e) {
+                System.err.println("Error closing the request source: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Method to create the traffic schedule selected with the system properties {@code traffic} and {@code rate}.
+     * The traffic is "office" for a working day with peaks of {@code rate} arrivals per minute, or the name of
+     * a {@link TrafficPattern} for constant traffic of that kind.
+     *
+     * @return The schedule, or null if no traffic was selected
+     */
+    private static TrafficSchedule trafficSchedule() {
+        String traffic = System.getProperty("traffic");
+        if (traffic == null) {
+            return null;
+        }
+        double ratePerMinute = Double.parseDouble(System.getProperty("rate", "40"));
+        if (traffic.equalsIgnoreCase("office")) {
+            return TrafficSchedule.officeDay(ratePerMinute);
+        }
+        return TrafficSchedule.constant(TrafficPattern.forName(traffic), ratePerMinute);
+    }
+}
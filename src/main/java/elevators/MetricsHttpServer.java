@@ -0,0 +1,97 @@
+package elevators;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * This class serves the metrics of a controller in the Prometheus text format on {@code /metrics}.
+ * Requests are answered on a single daemon thread of the server, never on the thread running the controller.
+ * By default the server only listens on the loopback interface.
+ */
+public class MetricsHttpServer {
+    // Content type of the Prometheus text exposition format
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final ControllerMetrics metrics; // The published metrics
+    private final HttpServer server; // The embedded HTTP server
+    private final ExecutorService executor; // Thread answering the requests
+
+    /**
+     * Constructor to create a server for the given metrics on the loopback interface.
+     * The server does not accept connections until started.
+     *
+     * @param metrics The metrics to publish
+     * @param port    The port to listen on, or 0 for any free port
+     * @throws IOException If the port cannot be bound
+     */
+    public MetricsHttpServer(ControllerMetrics metrics, int port) throws IOException {
+        this(metrics, InetAddress.getLoopbackAddress(), port);
+    }
+
+    /**
+     * Constructor to create a server for the given metrics on the given address.
+     * The server does not accept connections until started.
+     *
+     * @param metrics The metrics to publish
+     * @param address The address to listen on, for example the wildcard address to accept remote scrapers
+     * @param port    The port to listen on, or 0 for any free port
+     * @throws IOException If the port cannot be bound
+     */
+    public MetricsHttpServer(ControllerMetrics metrics, InetAddress address, int port) throws IOException {
+        this.metrics = metrics;
+        server = HttpServer.create(new InetSocketAddress(address, port), 0);
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-http");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/metrics", this::handle);
+    }
+
+    // Getter for the port the server listens on
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Method to start accepting connections.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Method to stop the server and its thread.
+     */
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    // Answers one scrape request
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            StringBuilder text = new StringBuilder(4096);
+            metrics.writePrometheus(text);
+            byte[] body = text.toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
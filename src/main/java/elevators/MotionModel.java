@@ -0,0 +1,158 @@
+package elevators;
+
+/**
+ * This class represents the kinematics of an elevator car and its doors.
+ * Flight times follow the jerk-limited profile: the car accelerates with limited jerk up to the rated
+ * acceleration and the rated speed, cruises, and decelerates symmetrically. Short trips never reach the
+ * rated speed or even the rated acceleration. All times are in simulated milliseconds.
+ */
+public class MotionModel {
+    private final double floorHeight; // Distance between two floors in metres
+    private final double ratedSpeed; // Rated speed in metres per second
+    private final double acceleration; // Rated acceleration in metres per second squared
+    private final double jerk; // Rated jerk in metres per second cubed
+    private final long doorOpenMillis; // Time to open the doors
+    private final long doorDwellMillis; // Time the doors stay open
+    private final long doorCloseMillis; // Time to close the doors
+    private volatile long[] flightMillisCache = new long[0]; // Flight times of trips of 0..n floors
+
+    /**
+     * Constructor to initialize a motion model with typical values for a mid-rise office building:
+     * 3.5 m floors, 2.5 m/s, 1.0 m/s², 1.5 m/s³, doors opening in 2 s, dwelling 3 s and closing in 2.5 s.
+     */
+    public MotionModel() {
+        this(3.5, 2.5, 1.0, 1.5, 2000, 3000, 2500);
+    }
+
+    /**
+     * Constructor to initialize a motion model with the specified parameters.
+     *
+     * @param floorHeight     The distance between two floors in metres
+     * @param ratedSpeed      The rated speed in metres per second
+     * @param acceleration    The rated acceleration in metres per second squared
+     * @param jerk            The rated jerk in metres per second cubed
+     * @param doorOpenMillis  The time to open the doors in milliseconds
+     * @param doorDwellMillis The time the doors stay open in milliseconds
+     * @param doorCloseMillis The time to close the doors in milliseconds
+     */
+    public MotionModel(double floorHeight, double ratedSpeed, double acceleration, double jerk,
+                       long doorOpenMillis, long doorDwellMillis, long doorCloseMillis) {
+        if (floorHeight <= 0 || ratedSpeed <= 0 || acceleration <= 0 || jerk <= 0) {
+            throw new IllegalArgumentException("Motion parameters must be positive");
+        }
+        this.floorHeight = floorHeight;
+        this.ratedSpeed = ratedSpeed;
+        this.acceleration = acceleration;
+        this.jerk = jerk;
+        this.doorOpenMillis = doorOpenMillis;
+        this.doorDwellMillis = doorDwellMillis;
+        this.doorCloseMillis = doorCloseMillis;
+    }
+
+    // Getter for floorHeight
+    public double getFloorHeight() {
+        return floorHeight;
+    }
+
+    // Getter for ratedSpeed
+    public double getRatedSpeed() {
+        return ratedSpeed;
+    }
+
+    /**
+     * Method to get the time of a full door cycle at a stop.
+     *
+     * @return The time to open, dwell and close in milliseconds
+     */
+    public long getDoorCycleMillis() {
+        return doorOpenMillis + doorDwellMillis + doorCloseMillis;
+    }
+
+    /**
+     * Method to compute the time of a trip between two stops.
+     *
+     * @param distance The travelled distance in metres
+     * @return The flight time in seconds
+     */
+    public double flightSeconds(double distance) {
+        if (distance <= 0) {
+            return 0;
+        }
+        if (distance >= ratedSpeed * ratedSpeed / acceleration + ratedSpeed * acceleration / jerk) {
+            // The car reaches the rated speed and cruises
+            return distance / ratedSpeed + ratedSpeed / acceleration + acceleration / jerk;
+        }
+        if (distance >= 2 * acceleration * acceleration * acceleration / (jerk * jerk)) {
+            // The car reaches the rated acceleration but not the rated speed
+            double ratio = acceleration / jerk;
+            return ratio + Math.sqrt(ratio * ratio + 4 * distance / acceleration);
+        }
+        // The car never reaches the rated acceleration
+        return Math.cbrt(32 * distance / jerk);
+    }
+
+    /**
+     * Method to get the time of a trip over the given number of floors.
+     *
+     * @param floors The number of floors between the two stops
+     * @return The flight time in milliseconds
+     */
+    public long flightMillis(int floors) {
+        floors = Math.abs(floors);
+        long[] cache = flightMillisCache;
+        if (floors < cache.length) {
+            return cache[floors];
+        }
+        long[] updated = new long[Math.max(floors + 1, cache.length * 2)];
+        for (int i = 0; i < updated.length; i++) {
+            updated[i] = Math.round(flightSeconds(i * floorHeight) * 1000);
+        }
+        flightMillisCache = updated;
+        return updated[floors];
+    }
+
+    /**
+     * Method to get the time between passing two consecutive floors of a run, chosen so that
+     * the segments of an uninterrupted run of n floors add up exactly to its flight time.
+     *
+     * @param floorOfRun The number of the floor within the run, starting from 1
+     * @return The time of the segment in milliseconds
+     */
+    public long segmentMillis(int floorOfRun) {
+        return flightMillis(floorOfRun) - flightMillis(floorOfRun - 1);
+    }
+
+    /**
+     * Method to estimate the speed of a car which has travelled the given distance since its last stop.
+     *
+     * @param distance The distance since the last stop in metres
+     * @return The speed in metres per second
+     */
+    public double speedAfter(double distance) {
+        return Math.min(ratedSpeed, Math.sqrt(2 * acceleration * distance));
+    }
+
+    /**
+     * Method to compute the jerk-limited distance a car needs to stop from the given speed.
+     *
+     * @param speed The current speed in metres per second
+     * @return The stopping distance in metres
+     */
+    public double stoppingDistance(double speed) {
+        return speed * speed / (2 * acceleration) + speed * acceleration / (2 * jerk);
+    }
+
+    /**
+     * Method to compute how many floors a car needs before it can stop.
+     *
+     * @param runFloors The number of floors travelled since the last stop
+     * @return The number of floors, at least 1 for a moving car and 0 for a standing one
+     */
+    public int stoppingFloors(int runFloors) {
+        if (runFloors <= 0) {
+            return 0;
+        }
+        double distance = stoppingDistance(speedAfter(runFloors * floorHeight));
+        return Math.max(1, (int) Math.ceil(distance / floorHeight - 1e-9));
+    }
+}
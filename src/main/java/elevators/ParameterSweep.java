@@ -0,0 +1,428 @@
+package elevators;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * This class runs a grid of building configurations as independent headless simulations on all cores.
+ * Every configuration gets its own controller, virtual clock and seeded request source, and the elevators
+ * of one simulation are stepped sequentially, so the simulations share no state and each result is the same
+ * as a single run of that configuration. Results are written as CSV rows in the order of the grid, each one
+ * as soon as it and all configurations before it are finished, so a long sweep can be followed while it runs.
+ * Usage: {@code java elevators.ParameterSweep [simulated hours]} with the grid given by the system properties
+ * {@code floors}, {@code cars}, {@code dispatch}, {@code traffic} (comma-separated lists) and {@code seeds}
+ * (a list or a range such as {@code 1-100}), for example
+ * {@code java -Dfloors=12,24 -Dcars=2,4,6 -Ddispatch=heuristic,eta -Dtraffic=random,office -Dseeds=1-20 elevators.ParameterSweep 24}.
+ * The traffic is "random" for the uniform request generator, "office" or the name of a {@link TrafficPattern}.
+ * {@code -Drate}, {@code -Dcapacity}, {@code -Dkinematics}, {@code -Dscheduling}, {@code -DreassignMillis} and {@code -Dparking} apply to every configuration
+ * as in {@link Main}, {@code -DwarmupHours} discards the latencies, travelled floors and events of the start of every run,
+ * {@code -Dthreads} sets the number of worker threads and {@code -Dout=<file>} writes the table to a file.
+ */
+public class ParameterSweep {
+    // Header of the results table
+    public static final String CSV_HEADER = "floors,cars,dispatch,traffic,seed,passengers,delivered,"
+            + "wait_mean,wait_p50,wait_p95,wait_p99,wait_max,journey_mean,journey_p50,journey_p95,journey_p99,journey_max,"
+            + "floors_travelled,events,elapsed_ms";
+
+    /**
+     * One point of the grid: the building and the traffic of a single simulation.
+     */
+    public static final class Configuration {
+        private final int floors; // Total number of floors
+        private final int cars; // Total number of elevators
+        private final String dispatch; // Name of the dispatch strategy
+        private final String traffic; // Name of the traffic
+        private final long seed; // Seed of the request source
+
+        /**
+         * Constructor to create a configuration.
+         *
+         * @param floors   The total number of floors
+         * @param cars     The total number of elevators
+         * @param dispatch The name of the dispatch strategy, as accepted by {@link DispatchStrategy#forName(String)}
+         * @param traffic  "random", "office" or the name of a {@link TrafficPattern}
+         * @param seed     The seed of the request source
+         */
+        public Configuration(int floors, int cars, String dispatch, String traffic, long seed) {
+            if (floors < 2 || cars < 1) {
+                throw new IllegalArgumentException("Invalid building: " + floors + " floors, " + cars + " cars");
+            }
+            this.floors = floors;
+            this.cars = cars;
+            this.dispatch = dispatch;
+            this.traffic = traffic;
+            this.seed = seed;
+        }
+
+        // Getter for floors
+        public int getFloors() {
+            return floors;
+        }
+
+        // Getter for cars
+        public int getCars() {
+            return cars;
+        }
+
+        // Getter for dispatch
+        public String getDispatch() {
+            return dispatch;
+        }
+
+        // Getter for traffic
+        public String getTraffic() {
+            return traffic;
+        }
+
+        // Getter for seed
+        public long getSeed() {
+            return seed;
+        }
+
+        @Override
+        public String toString() {
+            return floors + " floors, " + cars + " cars, " + dispatch + ", " + traffic + ", seed " + seed;
+        }
+    }
+
+    /**
+     * The statistics of one finished simulation.
+     */
+    public static final class Result {
+        private final Configuration configuration; // The simulated configuration
+        private final long passengers; // Number of passengers who arrived after the warm-up
+        private final LatencyHistogram wait; // Wait times of all passengers
+        private final LatencyHistogram journey; // Journey times of all passengers
+        private final long travelledFloors; // Floors travelled by all elevators after the warm-up
+        private final long events; // Number of events processed after the warm-up
+        private final long elapsedMillis; // Wall-clock time of the simulation
+
+        Result(Configuration configuration, long passengers, LatencyHistogram wait, LatencyHistogram journey,
+               long travelledFloors, long events, long elapsedMillis) {
+            this.configuration = configuration;
+            this.passengers = passengers;
+            this.wait = wait;
+            this.journey = journey;
+            this.travelledFloors = travelledFloors;
+            this.events = events;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        // Getter for configuration
+        public Configuration getConfiguration() {
+            return configuration;
+        }
+
+        // Getter for passengers
+        public long getPassengers() {
+            return passengers;
+        }
+
+        // Getter for the wait times
+        public LatencyHistogram getWait() {
+            return wait;
+        }
+
+        // Getter for the journey times
+        public LatencyHistogram getJourney() {
+            return journey;
+        }
+
+        // Getter for travelledFloors
+        public long getTravelledFloors() {
+            return travelledFloors;
+        }
+
+        // Getter for events
+        public long getEvents() {
+            return events;
+        }
+
+        // Getter for elapsedMillis
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        /**
+         * Method to format the result as a row of the table described by {@link #CSV_HEADER}.
+         *
+         * @return The CSV row without a line separator
+         */
+        public String toCsv() {
+            return String.format(Locale.ROOT, "%d,%d,%s,%s,%d,%d,%d,%.1f,%d,%d,%d,%d,%.1f,%d,%d,%d,%d,%d,%d,%d",
+                    configuration.getFloors(), configuration.getCars(), configuration.getDispatch(), configuration.getTraffic(),
+                    configuration.getSeed(), passengers, journey.getTotalCount(),
+                    wait.getMean(), wait.getValueAtPercentile(50), wait.getValueAtPercentile(95),
+                    wait.getValueAtPercentile(99), wait.getMaxValue(),
+                    journey.getMean(), journey.getValueAtPercentile(50), journey.getValueAtPercentile(95),
+                    journey.getValueAtPercentile(99), journey.getMaxValue(),
+                    travelledFloors, events, elapsedMillis);
+        }
+    }
+
+    private long durationMillis = 24 * 3600 * 1000L; // Simulated time of every run after the warm-up
+    private long warmupMillis; // Simulated time whose latencies are discarded
+    private double ratePerMinute = 40; // Peak arrivals per minute of generated building traffic
+    private int capacityPersons = Integer.MAX_VALUE; // Maximum number of passengers per car
+    private int capacityKg = Integer.MAX_VALUE; // Maximum load per car in kilograms
+    private boolean kinematics; // Whether the cars follow the default motion model
+    private Elevator.SchedulingMode schedulingMode = Elevator.SchedulingMode.PRIORITY; // Order in which cars serve their tasks
+    private long reassignIntervalMillis; // Interval between re-evaluations of waiting hall calls, or 0
+    private boolean parking; // Whether idle cars are parked where calls are expected
+
+    // Setter for durationMillis
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    // Setter for warmupMillis
+    public void setWarmupMillis(long warmupMillis) {
+        this.warmupMillis = warmupMillis;
+    }
+
+    // Setter for ratePerMinute
+    public void setRatePerMinute(double ratePerMinute) {
+        this.ratePerMinute = ratePerMinute;
+    }
+
+    // Setter for the capacity of the cars
+    public void setCapacity(int capacityPersons, int capacityKg) {
+        this.capacityPersons = capacityPersons;
+        this.capacityKg = capacityKg;
+    }
+
+    // Setter for kinematics
+    public void setKinematics(boolean kinematics) {
+        this.kinematics = kinematics;
+    }
+
+    // Setter for schedulingMode
+    public void setSchedulingMode(Elevator.SchedulingMode schedulingMode) {
+        this.schedulingMode = schedulingMode;
+    }
+
+    // Setter for reassignIntervalMillis
+    public void setReassignIntervalMillis(long reassignIntervalMillis) {
+        this.reassignIntervalMillis = reassignIntervalMillis;
+    }
+
+    // Setter for parking
+    public void setParking(boolean parking) {
+        this.parking = parking;
+    }
+
+    /**
+     * Method to build the full grid of configurations, varying the seed fastest.
+     *
+     * @param floors     The numbers of floors
+     * @param cars       The numbers of elevators
+     * @param dispatches The names of the dispatch strategies
+     * @param traffics   The names of the traffic
+     * @param seeds      The seeds of the request sources
+     * @return Every combination of the given values
+     */
+    public static List<Configuration> grid(int[] floors, int[] cars, String[] dispatches, String[] traffics, long[] seeds) {
+        List<Configuration> configurations = new ArrayList<>(floors.length * cars.length * dispatches.length * traffics.length * seeds.length);
+        for (int floorCount : floors) {
+            for (int carCount : cars) {
+                for (String dispatch : dispatches) {
+                    for (String traffic : traffics) {
+                        for (long seed : seeds) {
+                            configurations.add(new Configuration(floorCount, carCount, dispatch, traffic, seed));
+                        }
+                    }
+                }
+            }
+        }
+        return configurations;
+    }
+
+    /**
+     * Method to run a single configuration on the calling thread.
+     *
+     * @param configuration The configuration to simulate
+     * @return The statistics of the run
+     */
+    public Result run(Configuration configuration) {
+        int floors = configuration.getFloors();
+        LinkedBlockingQueue<ElevatorRequest> requestBuffer = new LinkedBlockingQueue<>();
+        ElevatorController controller = new ElevatorController(configuration.getCars(), floors, requestBuffer, new VirtualClock());
+        controller.setDispatchStrategy(DispatchStrategy.forName(configuration.getDispatch()));
+        controller.setCapacity(capacityPersons, capacityKg);
+        if (kinematics) {
+            controller.setMotionModel(new MotionModel());
+        }
+        controller.setSchedulingMode(schedulingMode);
+        controller.setReassignIntervalMillis(reassignIntervalMillis);
+        if (parking) {
+            controller.enablePredictiveParking();
+        }
+        LatencyRecorder latencyRecorder = controller.enableLatencyRecording();
+
+        RequestSource requestSource;
+        String traffic = configuration.getTraffic();
+        if (traffic.equalsIgnoreCase("random")) {
+            requestSource = new RequestGenerator(floors, requestBuffer, configuration.getSeed());
+        } else if (traffic.equalsIgnoreCase("office")) {
+            requestSource = new TrafficGenerator(floors, TrafficSchedule.officeDay(ratePerMinute), configuration.getSeed());
+        } else {
+            requestSource = new TrafficGenerator(floors, TrafficSchedule.constant(TrafficPattern.forName(traffic), ratePerMinute),
+                    configuration.getSeed());
+        }
+
+        long startNanos = System.nanoTime();
+        DiscreteEventSimulation simulation = new DiscreteEventSimulation(controller, requestSource);
+        long warmupArrivals = 0;
+        long warmupFloors = 0;
+        long warmupEvents = 0;
+        if (warmupMillis > 0) {
+            simulation.run(warmupMillis);
+            latencyRecorder.reset();
+            warmupArrivals = simulation.getArrivals();
+            warmupFloors = travelledFloors(controller);
+            warmupEvents = simulation.getProcessedEvents();
+        }
+        simulation.run(durationMillis);
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1000000;
+
+        return new Result(configuration, simulation.getArrivals() - warmupArrivals, latencyRecorder.getTotalWait(),
+                latencyRecorder.getTotalJourney(), travelledFloors(controller) - warmupFloors,
+                simulation.getProcessedEvents() - warmupEvents, elapsedMillis);
+    }
+
+    // Returns the floors travelled by all elevators of a controller
+    private static long travelledFloors(ElevatorController controller) {
+        long travelledFloors = 0;
+        for (Elevator elevator : controller.getLiftList()) {
+            travelledFloors += elevator.getTravelledFloors();
+        }
+        return travelledFloors;
+    }
+
+    /**
+     * Method to run all configurations on a pool of worker threads and write their results in grid order.
+     * A configuration which fails is reported on the error stream and left out of the table.
+     *
+     * @param configurations The configurations to simulate
+     * @param threads        The number of worker threads
+     * @param out            The stream the CSV table is written to
+     * @return The results of the successful runs in grid order
+     * @throws InterruptedException If the calling thread is interrupted while waiting for the results
+     */
+    public List<Result> runAll(List<Configuration> configurations, int threads, PrintStream out) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+        List<Result> results = new ArrayList<>(configurations.size());
+        try {
+            List<Future<Result>> futures = new ArrayList<>(configurations.size());
+            for (Configuration configuration : configurations) {
+                futures.add(executor.submit(() -> run(configuration)));
+            }
+            out.println(CSV_HEADER);
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    Result result = futures.get(i).get();
+                    results.add(result);
+                    out.println(result.toCsv());
+                    out.flush();
+                } catch (ExecutionException e) {
+                    System.err.println("Error simulating " + configurations.get(i) + ": " + e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return results;
+    }
+
+    /**
+     * Method to run the grid given by the system properties.
+     * Usage: {@code java elevators.ParameterSweep [simulated hours]}
+     *
+     * @param args The simulated hours of every configuration, 24 by default
+     * @throws InterruptedException If the main thread is interrupted
+     */
+    public static void main(String[] args) throws InterruptedException {
+        long hours = args.length > 0 ? Long.parseLong(args[0]) : 24;
+        List<Configuration> configurations = grid(
+                parseInts(System.getProperty("floors", "12")),
+                parseInts(System.getProperty("cars", "2")),
+                System.getProperty("dispatch", "heuristic").split(","),
+                System.getProperty("traffic", "random").split(","),
+                parseLongs(System.getProperty("seeds", "42")));
+        int threads = Integer.getInteger("threads", Runtime.getRuntime().availableProcessors());
+
+        ParameterSweep sweep = new ParameterSweep();
+        sweep.setDurationMillis(hours * 3600 * 1000);
+        sweep.setWarmupMillis((long) (Double.parseDouble(System.getProperty("warmupHours", "0")) * 3600 * 1000));
+        sweep.setRatePerMinute(Double.parseDouble(System.getProperty("rate", "40")));
+        sweep.setCapacity(Integer.getInteger("capacity", Integer.MAX_VALUE), Integer.getInteger("capacityKg", Integer.MAX_VALUE));
+        sweep.setKinematics(Boolean.getBoolean("kinematics"));
+        sweep.setSchedulingMode(Elevator.SchedulingMode.valueOf(System.getProperty("scheduling", "priority").toUpperCase()));
+        sweep.setReassignIntervalMillis(Long.getLong("reassignMillis", 0));
+        sweep.setParking(Boolean.getBoolean("parking"));
+
+        String outPath = System.getProperty("out");
+        PrintStream out = System.out;
+        if (outPath != null) {
+            try {
+                out = new PrintStream(outPath);
+            } catch (FileNotFoundException e) {
+                System.err.println("Error creating " + outPath + ": " + e.getMessage());
+                return;
+            }
+        }
+        System.err.println("Simulating " + configurations.size() + " configurations of " + hours + " h on " + threads + " threads");
+        long startNanos = System.nanoTime();
+        List<Result> results = sweep.runAll(configurations, threads, out);
+        if (out != System.out) {
+            out.close();
+        }
+        long elapsedMillis = Math.max(1, (System.nanoTime() - startNanos) / 1000000);
+        long events = 0;
+        for (Result result : results) {
+            events += result.getEvents();
+        }
+        System.err.println("Finished " + results.size() + " configurations in " + elapsedMillis + " ms ("
+                + events * 1000 / elapsedMillis + " events/s)");
+    }
+
+    // Parses a comma-separated list of integers
+    private static int[] parseInts(String values) {
+        String[] parts = values.split(",");
+        int[] numbers = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            numbers[i] = Integer.parseInt(parts[i].trim());
+        }
+        return numbers;
+    }
+
+    // Parses a comma-separated list of numbers and inclusive ranges such as 1-10
+    private static long[] parseLongs(String values) {
+        List<Long> numbers = new ArrayList<>();
+        for (String part : values.split(",")) {
+            String trimmed = part.trim();
+            int dash = trimmed.indexOf('-', 1);
+            if (dash < 0) {
+                numbers.add(Long.parseLong(trimmed));
+            } else {
+                long last = Long.parseLong(trimmed.substring(dash + 1));
+                for (long number = Long.parseLong(trimmed.substring(0, dash)); number <= last; number++) {
+                    numbers.add(number);
+                }
+            }
+        }
+        long[] result = new long[numbers.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = numbers.get(i);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,294 @@
+package elevators;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * This class learns where hall calls come from and chooses the floors where idle cars wait for the next ones.
+ * Every arrival is counted on its start floor twice: in a sliding window of recent minutes, and in the slot of
+ * the day it arrived in, whose counts are averaged over the last days. The predicted demand of a floor blends
+ * the recent rate with the rates seen at the same time on previous days, looking one slot ahead, so cars move
+ * to the lobby before a morning peak and towards the upper floors before the evening one.
+ * Idle cars are spread over the demand: with {@code n} idle cars, car {@code i} waits on the floor where the
+ * cumulative demand reaches {@code (i + 0.5) / n} of the total, which puts several cars on a floor with heavy demand.
+ * Days are counted on the controller's clock, so a {@link RealTimeClock} uses days in UTC.
+ * The learned demand is saved in checkpoints, while the window, the slots and the intervals are configuration.
+ */
+public class PredictiveParking implements Checkpointable {
+    // Length of a day in milliseconds
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+
+    private final int totalFloors; // Total number of floors in the building
+    private final long bucketMillis; // Length of one bucket of the recent window
+    private final int[][] recentCounts; // Arrivals per floor in each bucket of the recent window, used as a ring
+    private final int[] recentTotals; // Arrivals per floor in the whole recent window
+    private final long slotMillis; // Length of one slot of the day
+    private final double[][] slotAverages; // Average arrivals per floor in each slot of the day over the last days
+    private final int[] slotDays; // Number of days each slot of the day has been observed
+    private final int[] slotCounts; // Arrivals per floor in the current slot
+    private final double[] demand; // Reusable predicted demand per floor
+    private int historyDays = 7; // Number of days the slot averages follow
+    private long intervalMillis = 30000; // Interval between re-evaluations of the parking floors
+    private long bucket = -1; // Current bucket since the start of the clock, or -1 before the first arrival
+    private long slot = -1; // Current slot since the start of the clock, or -1 before the first arrival
+
+    /**
+     * Default constructor for a window of the last 10 minutes and slots of 15 minutes.
+     *
+     * @param totalFloors The total number of floors
+     */
+    public PredictiveParking(int totalFloors) {
+        this(totalFloors, 10 * 60000, 60000, 15 * 60000);
+    }
+
+    /**
+     * Constructor to initialize the demand model.
+     *
+     * @param totalFloors  The total number of floors
+     * @param windowMillis The length of the sliding window of recent arrivals
+     * @param bucketMillis The resolution of the sliding window
+     * @param slotMillis   The length of the slots of the day, which should divide a day
+     */
+    public PredictiveParking(int totalFloors, long windowMillis, long bucketMillis, long slotMillis) {
+        if (bucketMillis <= 0 || windowMillis < bucketMillis || slotMillis <= 0 || slotMillis > DAY_MILLIS) {
+            throw new IllegalArgumentException("Invalid window " + windowMillis + ", bucket " + bucketMillis + " or slot " + slotMillis);
+        }
+        this.totalFloors = totalFloors;
+        this.bucketMillis = bucketMillis;
+        this.recentCounts = new int[(int) (windowMillis / bucketMillis)][totalFloors + 1];
+        this.recentTotals = new int[totalFloors + 1];
+        this.slotMillis = slotMillis;
+        int slotsPerDay = (int) ((DAY_MILLIS + slotMillis - 1) / slotMillis);
+        this.slotAverages = new double[slotsPerDay][totalFloors + 1];
+        this.slotDays = new int[slotsPerDay];
+        this.slotCounts = new int[totalFloors + 1];
+        this.demand = new double[totalFloors + 1];
+    }
+
+    // Getter for intervalMillis
+    public long getIntervalMillis() {
+        return intervalMillis;
+    }
+
+    // Setter for intervalMillis
+    public void setIntervalMillis(long intervalMillis) {
+        this.intervalMillis = Math.max(1, intervalMillis);
+    }
+
+    // Returns the length of the sliding window of recent arrivals
+    public long getWindowMillis() {
+        return recentCounts.length * bucketMillis;
+    }
+
+    // Getter for bucketMillis
+    public long getBucketMillis() {
+        return bucketMillis;
+    }
+
+    // Getter for slotMillis
+    public long getSlotMillis() {
+        return slotMillis;
+    }
+
+    // Setter for historyDays
+    public void setHistoryDays(int historyDays) {
+        this.historyDays = Math.max(1, historyDays);
+    }
+
+    /**
+     * Method to count the arrival of a passenger.
+     *
+     * @param floor The floor where the passenger called a car
+     * @param now   The time of the arrival on the controller's clock
+     */
+    public void recordArrival(int floor, long now) {
+        advance(now);
+        ++recentCounts[(int) (bucket % recentCounts.length)][floor];
+        ++recentTotals[floor];
+        ++slotCounts[floor];
+    }
+
+    /**
+     * Method to predict the rate of calls from a floor.
+     *
+     * @param floor The floor
+     * @param now   The current time on the controller's clock
+     * @return The expected number of calls per minute
+     */
+    public double predictedRate(int floor, long now) {
+        advance(now);
+        double recent = recentTotals[floor] * 60000.0 / (recentCounts.length * bucketMillis);
+        int current = slotOfDay(now);
+        if (slotDays[current] == 0) {
+            return recent;
+        }
+        int next = (current + 1) % slotAverages.length;
+        double history = (slotAverages[current][floor] + slotAverages[next][floor]) * 60000.0 / (2 * slotMillis);
+        return (recent + history) / 2;
+    }
+
+    /**
+     * Method to choose the floors where a number of idle cars should wait, among the floors served by the controller.
+     *
+     * @param cars       The number of idle cars
+     * @param controller The controller of the cars
+     * @return The floors in ascending order, one per car, or null if no calls have been seen to predict from
+     */
+    public int[] parkingFloors(int cars, ElevatorController controller) {
+        long now = controller.getClock().currentTimeMillis();
+        double total = 0;
+        for (int floor = 1; floor <= totalFloors; floor++) {
+            demand[floor] = controller.serves(floor) ? predictedRate(floor, now) : 0;
+            total += demand[floor];
+        }
+        if (cars <= 0 || total <= 0) {
+            return null;
+        }
+        int[] floors = new int[cars];
+        int floor = 1;
+        double cumulative = demand[1];
+        for (int i = 0; i < cars; i++) {
+            double quantile = (i + 0.5) / cars * total;
+            while (cumulative < quantile && floor < totalFloors) {
+                cumulative += demand[++floor];
+            }
+            floors[i] = floor;
+        }
+        return floors;
+    }
+
+    /**
+     * Method to move the window and the slots forward to the given time. Arrivals of a finished slot are
+     * folded into the average of its slot of the day, and slots without any arrival count as zero.
+     *
+     * @param now The current time on the controller's clock
+     */
+    private void advance(long now) {
+        long currentBucket = now / bucketMillis;
+        long currentSlot = now / slotMillis;
+        if (bucket < 0) {
+            bucket = currentBucket;
+            slot = currentSlot;
+            return;
+        }
+        if (currentBucket - bucket >= recentCounts.length) {
+            for (int[] counts : recentCounts) {
+                Arrays.fill(counts, 0);
+            }
+            Arrays.fill(recentTotals, 0);
+            bucket = currentBucket;
+        }
+        while (bucket < currentBucket) {
+            int[] counts = recentCounts[(int) (++bucket % recentCounts.length)];
+            for (int floor = 1; floor <= totalFloors; floor++) {
+                recentTotals[floor] -= counts[floor];
+            }
+            Arrays.fill(counts, 0);
+        }
+        // After a gap of many days only the last ones are folded as empty, which is enough to let old peaks fade
+        long earliest = currentSlot - (long) historyDays * slotAverages.length;
+        if (slot < earliest) {
+            Arrays.fill(slotCounts, 0);
+            slot = earliest;
+        }
+        while (slot < currentSlot) {
+            int ofDay = slotOfDay(slot * slotMillis);
+            int days = Math.min(++slotDays[ofDay], historyDays);
+            double[] averages = slotAverages[ofDay];
+            for (int floor = 1; floor <= totalFloors; floor++) {
+                averages[floor] += (slotCounts[floor] - averages[floor]) / days;
+            }
+            Arrays.fill(slotCounts, 0);
+            ++slot;
+        }
+    }
+
+    /**
+     * Method to write the learned demand: the recent window, the averages of the slots of the day and the current slot.
+     *
+     * @param out The stream to write to
+     * @throws IOException If the stream cannot be written
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        out.writeLong(bucket);
+        out.writeLong(slot);
+        for (int[] counts : recentCounts) {
+            for (int floor = 1; floor <= totalFloors; floor++) {
+                out.writeInt(counts[floor]);
+            }
+        }
+        for (int ofDay = 0; ofDay < slotAverages.length; ofDay++) {
+            out.writeInt(slotDays[ofDay]);
+            for (int floor = 1; floor <= totalFloors; floor++) {
+                out.writeDouble(slotAverages[ofDay][floor]);
+            }
+        }
+        for (int floor = 1; floor <= totalFloors; floor++) {
+            out.writeInt(slotCounts[floor]);
+        }
+    }
+
+    /**
+     * Method to restore the demand written by {@link #writeState(DataOutput)} into a model with the same
+     * number of floors, window and slots.
+     *
+     * @param in The stream to read from
+     * @throws IOException If the stream cannot be read or holds an invalid demand
+     */
+    @Override
+    public void readState(DataInput in) throws IOException {
+        bucket = in.readLong();
+        slot = in.readLong();
+        if (bucket < -1 || slot < -1 || (bucket < 0) != (slot < 0)) {
+            throw new IOException("Invalid bucket " + bucket + " or slot " + slot + " of the demand in checkpoint");
+        }
+        Arrays.fill(recentTotals, 0);
+        for (int[] counts : recentCounts) {
+            for (int floor = 1; floor <= totalFloors; floor++) {
+                counts[floor] = Checkpoint.readInt(in, "recent arrivals on floor " + floor, 0, Integer.MAX_VALUE);
+                recentTotals[floor] += counts[floor];
+            }
+        }
+        for (int ofDay = 0; ofDay < slotAverages.length; ofDay++) {
+            slotDays[ofDay] = Checkpoint.readInt(in, "days of slot " + ofDay, 0, Integer.MAX_VALUE);
+            for (int floor = 1; floor <= totalFloors; floor++) {
+                double average = in.readDouble();
+                if (!(average >= 0) || Double.isInfinite(average)) {
+                    throw new IOException("Invalid average arrivals " + average + " on floor " + floor + " in checkpoint");
+                }
+                slotAverages[ofDay][floor] = average;
+            }
+        }
+        for (int floor = 1; floor <= totalFloors; floor++) {
+            slotCounts[floor] = Checkpoint.readInt(in, "arrivals in the current slot on floor " + floor, 0, Integer.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Method to compute the length of the demand written by {@link #writeState(DataOutput)}, so it can be skipped.
+     *
+     * @param totalFloors  The total number of floors
+     * @param windowMillis The length of the sliding window of the model which wrote the demand
+     * @param bucketMillis The resolution of its sliding window
+     * @param slotMillis   The length of its slots of the day
+     * @return The number of bytes
+     * @throws IOException If the window or the slots are invalid
+     */
+    static long stateBytes(int totalFloors, long windowMillis, long bucketMillis, long slotMillis) throws IOException {
+        if (bucketMillis <= 0 || windowMillis < bucketMillis || windowMillis / bucketMillis > Integer.MAX_VALUE
+                || slotMillis <= 0 || slotMillis > DAY_MILLIS) {
+            throw new IOException("Invalid window " + windowMillis + ", bucket " + bucketMillis + " or slot " + slotMillis + " in checkpoint");
+        }
+        long slotsPerDay = (DAY_MILLIS + slotMillis - 1) / slotMillis;
+        return 2 * Long.BYTES + (windowMillis / bucketMillis) * totalFloors * Integer.BYTES
+                + slotsPerDay * (Integer.BYTES + (long) totalFloors * Double.BYTES) + (long) totalFloors * Integer.BYTES;
+    }
+
+    // Returns the slot of the day containing the given time
+    private int slotOfDay(long time) {
+        return (int) (Math.floorMod(time, DAY_MILLIS) / slotMillis);
+    }
+}
@@ -0,0 +1,461 @@
+package elevators;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * This class represents an elevator task queue stored in parallel primitive arrays.
+ * Tasks live in slots (priority, floor, passenger ID and purpose), the ordering is a binary heap of slot
+ * numbers, and the slots of each floor are chained into a linked list. Once the arrays have grown to
+ * the working size, adding, aging, peeking and clearing floors allocate no objects at all.
+ * Only {@link #poll()}, {@link #peek()} and iteration create {@link ElementQueue} copies for callers
+ * that need them.
+ */
+public class PrimitiveTaskQueue implements TaskQueue {
+    // Aging offsets above this value are folded back into the stored priorities to avoid overflow
+    private static final int REBASE_THRESHOLD = 1 << 30;
+    // Marker for a missing slot or an empty list
+    private static final int NONE = -1;
+
+    private static final ElementQueue.Purpose[] PURPOSES = ElementQueue.Purpose.values();
+
+    private int[] priorities; // Stored priority of each slot, relative to ageOffset
+    private int[] floors; // Floor of each slot
+    private int[] passengerIds; // Passenger ID of each slot
+    private byte[] purposes; // Ordinal of the purpose of each slot
+    private int[] heapIndex; // Position of each slot in the heap
+    private int[] nextInFloor; // Next slot with the same floor, or the next free slot
+    private int[] prevInFloor; // Previous slot with the same floor
+    private int[] heap; // Binary heap of slot numbers ordered by priority
+    private int[] floorHeads; // First slot of each floor
+    private final BitSet occupiedFloors = new BitSet(); // Floors which have at least one task
+    private int size; // Number of tasks in the queue
+    private int freeSlot; // Head of the list of free slots
+    private int ageOffset; // Total amount by which all priorities in the queue have been decreased
+
+    /**
+     * Constructor to initialize the queue with a default capacity.
+     */
+    public PrimitiveTaskQueue() {
+        this(16, 16);
+    }
+
+    /**
+     * Constructor to initialize the queue with the specified capacity.
+     *
+     * @param capacity The initial number of tasks the queue can hold without growing
+     * @param floors   The initial number of floors the index can hold without growing
+     */
+    public PrimitiveTaskQueue(int capacity, int floors) {
+        capacity = Math.max(1, capacity);
+        this.priorities = new int[capacity];
+        this.floors = new int[capacity];
+        this.passengerIds = new int[capacity];
+        this.purposes = new byte[capacity];
+        this.heapIndex = new int[capacity];
+        this.nextInFloor = new int[capacity];
+        this.prevInFloor = new int[capacity];
+        this.heap = new int[capacity];
+        this.floorHeads = new int[Math.max(1, floors + 1)];
+        Arrays.fill(floorHeads, NONE);
+        linkFreeSlots(0, capacity);
+    }
+
+    // Getter for ageOffset
+    public int getAgeOffset() {
+        return ageOffset;
+    }
+
+    /**
+     * Method to add a task with the specified priority, floor, person ID, and purpose.
+     *
+     * @param priority The priority of the elevator task
+     * @param floor    The floor associated with the elevator task
+     * @param idPerson The ID of the person associated with the elevator task
+     * @param purpose  The purpose of the elevator task
+     */
+    @Override
+    public void addElement(int priority, int floor, int idPerson, ElementQueue.Purpose purpose) {
+        if (freeSlot == NONE) {
+            grow();
+        }
+        if (floor >= floorHeads.length) {
+            int oldLength = floorHeads.length;
+            floorHeads = Arrays.copyOf(floorHeads, Math.max(floor + 1, oldLength * 2));
+            Arrays.fill(floorHeads, oldLength, floorHeads.length, NONE);
+        }
+        int slot = freeSlot;
+        freeSlot = nextInFloor[slot];
+
+        priorities[slot] = priority + ageOffset;
+        floors[slot] = floor;
+        passengerIds[slot] = idPerson;
+        purposes[slot] = (byte) purpose.ordinal();
+
+        // Push the slot to the front of its floor list
+        int head = floorHeads[floor];
+        nextInFloor[slot] = head;
+        prevInFloor[slot] = NONE;
+        if (head != NONE) {
+            prevInFloor[head] = slot;
+        }
+        floorHeads[floor] = slot;
+        occupiedFloors.set(floor);
+
+        heap[size] = slot;
+        heapIndex[slot] = size;
+        siftUp(size++);
+    }
+
+    /**
+     * Method to retrieve and remove the highest-priority task.
+     *
+     * @return A copy of the highest-priority task, or null if the queue is empty
+     */
+    @Override
+    public ElementQueue poll() {
+        if (size == 0) {
+            return null;
+        }
+        ElementQueue element = toElement(heap[0]);
+        remove(heap[0]);
+        return element;
+    }
+
+    /**
+     * Method to retrieve, but not remove, the highest-priority task.
+     *
+     * @return A copy of the highest-priority task, or null if the queue is empty
+     */
+    @Override
+    public ElementQueue peek() {
+        return size == 0 ? null : toElement(heap[0]);
+    }
+
+    /**
+     * Method to get the floor of the highest-priority task.
+     *
+     * @return The floor of the highest-priority task
+     */
+    @Override
+    public int peekFloor() {
+        if (size == 0) {
+            throw new NoSuchElementException("Task queue is empty");
+        }
+        return floors[heap[0]];
+    }
+
+    /**
+     * Method to get the effective priority of the highest-priority task.
+     *
+     * @return The priority of the highest-priority task
+     */
+    @Override
+    public int peekPriority() {
+        if (size == 0) {
+            throw new NoSuchElementException("Task queue is empty");
+        }
+        return priorities[heap[0]] - ageOffset;
+    }
+
+    /**
+     * Method to find the nearest floor above the given one which has a task.
+     *
+     * @param floor The floor to start from
+     * @return The nearest higher floor with a task, or -1 if there is none
+     */
+    @Override
+    public int nextFloorAbove(int floor) {
+        return occupiedFloors.nextSetBit(Math.max(0, floor + 1));
+    }
+
+    /**
+     * Method to find the nearest floor below the given one which has a task.
+     *
+     * @param floor The floor to start from
+     * @return The nearest lower floor with a task, or -1 if there is none
+     */
+    @Override
+    public int nextFloorBelow(int floor) {
+        return floor <= 0 ? -1 : occupiedFloors.previousSetBit(floor - 1);
+    }
+
+    /**
+     * Method to decrease the priorities of all tasks by a specified amount.
+     * Only the aging offset moves, since a uniform decrease never changes the order.
+     *
+     * @param decrement The amount by which to decrement the priorities
+     */
+    @Override
+    public void updatePriorities(int decrement) {
+        ageOffset += decrement;
+        if (ageOffset > REBASE_THRESHOLD || ageOffset < -REBASE_THRESHOLD) {
+            for (int i = 0; i < size; i++) {
+                priorities[heap[i]] -= ageOffset;
+            }
+            ageOffset = 0;
+        }
+    }
+
+    /**
+     * Method to check whether the queue holds any task for the specified floor.
+     *
+     * @param floor The floor to check
+     * @return True if there is at least one task for the floor, otherwise false
+     */
+    @Override
+    public boolean hasFloor(int floor) {
+        return floor >= 0 && floor < floorHeads.length && floorHeads[floor] != NONE;
+    }
+
+    /**
+     * Method to remove all tasks for the specified floor, touching only the removed slots.
+     *
+     * @param floor The floor value to match for removal
+     */
+    @Override
+    public void removeAllWithValue(int floor) {
+        while (hasFloor(floor)) {
+            remove(floorHeads[floor]);
+        }
+    }
+
+    /**
+     * Method to remove a single task, walking only the list of its floor.
+     *
+     * @param floor    The floor of the task
+     * @param idPerson The ID of the person of the task
+     * @param purpose  The purpose of the task
+     * @return True if a matching task was removed, false if there was none
+     */
+    @Override
+    public boolean removeTask(int floor, int idPerson, ElementQueue.Purpose purpose) {
+        if (!hasFloor(floor)) {
+            return false;
+        }
+        for (int slot = floorHeads[floor]; slot != NONE; slot = nextInFloor[slot]) {
+            if (passengerIds[slot] == idPerson && purposes[slot] == purpose.ordinal()) {
+                remove(slot);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Method to check if the queue is empty.
+     *
+     * @return True if the queue is empty, otherwise false
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Method to get the number of tasks in the queue.
+     *
+     * @return The number of tasks
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Method to rebuild the heap and the floor lists by adding the tasks again in heap order.
+     */
+    @Override
+    public void compact() {
+        int count = size;
+        int[] taskPriorities = new int[count];
+        int[] taskFloors = new int[count];
+        int[] taskPassengers = new int[count];
+        byte[] taskPurposes = new byte[count];
+        for (int position = 0; position < count; position++) {
+            int slot = heap[position];
+            taskPriorities[position] = priorities[slot] - ageOffset;
+            taskFloors[position] = floors[slot];
+            taskPassengers[position] = passengerIds[slot];
+            taskPurposes[position] = purposes[slot];
+        }
+        size = 0;
+        ageOffset = 0;
+        Arrays.fill(floorHeads, NONE);
+        occupiedFloors.clear();
+        linkFreeSlots(0, priorities.length);
+        for (int position = 0; position < count; position++) {
+            addElement(taskPriorities[position], taskFloors[position], taskPassengers[position], PURPOSES[taskPurposes[position]]);
+        }
+    }
+
+    /**
+     * Method to iterate over copies of the tasks in heap order.
+     *
+     * @return An iterator over the tasks
+     */
+    @Override
+    public Iterator<ElementQueue> iterator() {
+        return new Iterator<ElementQueue>() {
+            private int position = 0;
+
+            @Override
+            public boolean hasNext() {
+                return position < size;
+            }
+
+            @Override
+            public ElementQueue next() {
+                if (position >= size) {
+                    throw new NoSuchElementException();
+                }
+                return toElement(heap[position++]);
+            }
+        };
+    }
+
+    /**
+     * Method to remove the task stored in a slot from the heap and its floor list.
+     *
+     * @param slot The slot to remove
+     */
+    private void remove(int slot) {
+        // Unlink the slot from its floor list
+        int next = nextInFloor[slot];
+        int prev = prevInFloor[slot];
+        if (prev != NONE) {
+            nextInFloor[prev] = next;
+        } else {
+            floorHeads[floors[slot]] = next;
+            if (next == NONE) {
+                occupiedFloors.clear(floors[slot]);
+            }
+        }
+        if (next != NONE) {
+            prevInFloor[next] = prev;
+        }
+
+        // Replace the slot in the heap with the last one and restore the heap order
+        int position = heapIndex[slot];
+        int last = heap[--size];
+        if (position != size) {
+            heap[position] = last;
+            heapIndex[last] = position;
+            siftDown(position);
+            if (heap[position] == last) {
+                siftUp(position);
+            }
+        }
+
+        nextInFloor[slot] = freeSlot;
+        freeSlot = slot;
+    }
+
+    /**
+     * Method to move the slot at a heap position up until its parent has a lower or equal priority.
+     *
+     * @param position The heap position to sift
+     */
+    private void siftUp(int position) {
+        int slot = heap[position];
+        int key = priorities[slot];
+        while (position > 0) {
+            int parentPosition = (position - 1) >>> 1;
+            int parent = heap[parentPosition];
+            if (key >= priorities[parent]) {
+                break;
+            }
+            heap[position] = parent;
+            heapIndex[parent] = position;
+            position = parentPosition;
+        }
+        heap[position] = slot;
+        heapIndex[slot] = position;
+    }
+
+    /**
+     * Method to move the slot at a heap position down until its children have higher or equal priorities.
+     *
+     * @param position The heap position to sift
+     */
+    private void siftDown(int position) {
+        int slot = heap[position];
+        int key = priorities[slot];
+        int half = size >>> 1;
+        while (position < half) {
+            int childPosition = 2 * position + 1;
+            int child = heap[childPosition];
+            int rightPosition = childPosition + 1;
+            if (rightPosition < size && priorities[heap[rightPosition]] < priorities[child]) {
+                childPosition = rightPosition;
+                child = heap[childPosition];
+            }
+            if (key <= priorities[child]) {
+                break;
+            }
+            heap[position] = child;
+            heapIndex[child] = position;
+            position = childPosition;
+        }
+        heap[position] = slot;
+        heapIndex[slot] = position;
+    }
+
+    /**
+     * Method to double the capacity of all slot arrays.
+     */
+    private void grow() {
+        int oldCapacity = priorities.length;
+        int capacity = oldCapacity * 2;
+        priorities = Arrays.copyOf(priorities, capacity);
+        floors = Arrays.copyOf(floors, capacity);
+        passengerIds = Arrays.copyOf(passengerIds, capacity);
+        purposes = Arrays.copyOf(purposes, capacity);
+        heapIndex = Arrays.copyOf(heapIndex, capacity);
+        nextInFloor = Arrays.copyOf(nextInFloor, capacity);
+        prevInFloor = Arrays.copyOf(prevInFloor, capacity);
+        heap = Arrays.copyOf(heap, capacity);
+        linkFreeSlots(oldCapacity, capacity);
+    }
+
+    /**
+     * Method to chain a range of unused slots into the free list.
+     *
+     * @param from The first slot of the range
+     * @param to   The slot after the last one of the range
+     */
+    private void linkFreeSlots(int from, int to) {
+        for (int slot = from; slot < to - 1; slot++) {
+            nextInFloor[slot] = slot + 1;
+        }
+        nextInFloor[to - 1] = NONE;
+        freeSlot = from;
+    }
+
+    /**
+     * Method to create an element copy of the task stored in a slot.
+     *
+     * @param slot The slot of the task
+     * @return The element with the effective priority of the task
+     */
+    private ElementQueue toElement(int slot) {
+        return new ElementQueue(priorities[slot] - ageOffset, floors[slot], passengerIds[slot], PURPOSES[purposes[slot]]);
+    }
+
+    /**
+     * Method to represent the queue as a string.
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(toElement(heap[i]));
+        }
+        return builder.append(']').toString();
+    }
+}
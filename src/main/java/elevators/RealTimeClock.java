@@ -0,0 +1,44 @@
+package elevators;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class represents a clock that follows the wall clock and really sleeps.
+ */
+public class RealTimeClock implements SimulationClock {
+    /**
+     * Method to get the current wall-clock time.
+     *
+     * @return The current time in milliseconds
+     */
+    @Override
+    public long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * Method to suspend the current thread for the specified time.
+     *
+     * @param millis The number of milliseconds to sleep
+     * @throws InterruptedException If the thread is interrupted while sleeping
+     */
+    @Override
+    public void sleep(long millis) throws InterruptedException {
+        Thread.sleep(millis);
+    }
+
+    /**
+     * Method to wait for an element of a queue, returning as soon as one arrives.
+     *
+     * @param queue  The queue to take an element from
+     * @param millis The longest time to wait in milliseconds
+     * @param <T>    The type of the elements
+     * @return The element, or null if none arrived in time
+     * @throws InterruptedException If the thread is interrupted while waiting
+     */
+    @Override
+    public <T> T poll(BlockingQueue<T> queue, long millis) throws InterruptedException {
+        return queue.poll(millis, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,133 @@
+package elevators;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * This class represents a request generator responsible for generating elevator requests.
+ */
+public class RequestGenerator implements RequestSource, Runnable, Checkpointable {
+    // Instance variables
+    private final int maxFloors; // Maximum number of floors in the building
+    private final BlockingQueue<ElevatorRequest> queue; // Buffer for storing elevator requests
+    private final RestorableRandom random; // Random number generator
+    private int requestId; // ID for each request
+
+    /**
+     * Constructor to initialize the request generator with maximum floors and request buffer.
+     *
+     * @param maxFloors Maximum number of floors in the building
+     * @param queue     Buffer for storing elevator requests
+     */
+    public RequestGenerator(int maxFloors, BlockingQueue<ElevatorRequest> queue) {
+        this(maxFloors, queue, new RestorableRandom());
+    }
+
+    /**
+     * Constructor to initialize the request generator with a fixed seed, so that runs are reproducible.
+     *
+     * @param maxFloors Maximum number of floors in the building
+     * @param queue     Buffer for storing elevator requests
+     * @param seed      Seed of the random number generator
+     */
+    public RequestGenerator(int maxFloors, BlockingQueue<ElevatorRequest> queue, long seed) {
+        this(maxFloors, queue, new RestorableRandom(seed));
+    }
+
+    private RequestGenerator(int maxFloors, BlockingQueue<ElevatorRequest> queue, RestorableRandom random) {
+        this.maxFloors = maxFloors;
+        this.queue = queue;
+        this.random = random;
+        this.requestId = 0;
+    }
+
+    /**
+     * Method to run the request generator thread, continuously generating elevator requests.
+     */
+    @Override
+    public void run() {
+        // Loop until the thread is interrupted
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                // Create a new elevator request with random floors
+                ElevatorRequest request = nextRequest();
+
+                // Print the created request
+                //System.out.println("Created request: " + request+"\n");
+
+                // Put the request into the queue for processing
+                request.setCreatedMillis(System.currentTimeMillis());
+                queue.put(request);
+
+                // Sleep for a random interval before generating the next request
+                Thread.sleep(nextIntervalMillis());
+            } catch (InterruptedException e) {
+                // Interrupt the current thread if interrupted during sleep
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Method to create the next elevator request with random start and end floors.
+     *
+     * @return The new elevator request
+     */
+    @Override
+    public ElevatorRequest nextRequest() {
+        int startFloor = random.nextInt(maxFloors) + 1;
+        int endFloor = generateDifferentFloor(startFloor);
+        return new ElevatorRequest(startFloor, endFloor, requestId++);
+    }
+
+    /**
+     * Method to pick the random interval before the next request is generated.
+     *
+     * @return The interval in milliseconds
+     */
+    @Override
+    public long nextIntervalMillis() {
+        return random.nextInt(2200) + 300;
+    }
+
+    /**
+     * Method to write the state of the random number generator and the next passenger ID.
+     *
+     * @param out The stream to write to
+     * @throws IOException If the stream cannot be written
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        random.writeState(out);
+        out.writeInt(requestId);
+    }
+
+    /**
+     * Method to continue the sequence of requests saved by {@link #writeState(DataOutput)}.
+     *
+     * @param in The stream to read from
+     * @throws IOException If the stream cannot be read
+     */
+    @Override
+    public void readState(DataInput in) throws IOException {
+        random.readState(in);
+        requestId = in.readInt();
+    }
+
+    /**
+     * Method to generate a different floor from the given start floor.
+     *
+     * @param startFloor The start floor for the elevator request
+     * @return A different floor from the start floor
+     */
+    private int generateDifferentFloor(int startFloor) {
+        int endFloor;
+        // Loop until a different floor is generated
+        do {
+            endFloor = random.nextInt(maxFloors) + 1;
+        } while (endFloor == startFloor);
+        return endFloor;
+    }
+}
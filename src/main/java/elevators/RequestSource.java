@@ -0,0 +1,21 @@
+package elevators;
+
+/**
+ * Interface for sources of passenger requests, such as random generators or recorded traces.
+ * A source is read as a sequence of arrivals: first the interval before the next arrival, then its request.
+ */
+public interface RequestSource {
+    /**
+     * Method to get the interval between the previous arrival and the next one.
+     *
+     * @return The interval in milliseconds, or -1 if the source has no more requests
+     */
+    long nextIntervalMillis();
+
+    /**
+     * Method to get the request of the next arrival.
+     *
+     * @return The next request
+     */
+    ElevatorRequest nextRequest();
+}
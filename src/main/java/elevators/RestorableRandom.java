@@ -0,0 +1,118 @@
+package elevators;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * This class is a random number generator whose state can be written to a checkpoint and read back.
+ * It keeps the state of the linear congruential generator of {@link Random} in its own fields, so it
+ * produces exactly the same numbers as a {@code Random} with the same seed, and its state is saved as plain
+ * numbers instead of through Java serialization. Unlike {@code Random}, it must only be used by one thread.
+ */
+final class RestorableRandom extends Random implements Checkpointable {
+    private static final long serialVersionUID = 1L;
+    // Constants of the linear congruential generator, as in java.util.Random
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    private long state; // Current 48-bit state of the generator
+    private double nextNextGaussian; // Second value of the last pair of Gaussian values
+    private boolean haveNextNextGaussian; // Whether nextNextGaussian has not been returned yet
+
+    /**
+     * Default constructor for a generator with a seed which differs on every call.
+     */
+    RestorableRandom() {
+        super();
+    }
+
+    /**
+     * Constructor to initialize the generator with a seed.
+     *
+     * @param seed The seed
+     */
+    RestorableRandom(long seed) {
+        super(seed);
+    }
+
+    /**
+     * Method to restart the generator from a seed. It is also called by the constructors of {@link Random}.
+     *
+     * @param seed The seed
+     */
+    @Override
+    public void setSeed(long seed) {
+        state = (seed ^ MULTIPLIER) & MASK;
+        haveNextNextGaussian = false;
+    }
+
+    /**
+     * Method to advance the generator and take the highest bits of its state.
+     *
+     * @param bits The number of random bits
+     * @return The random bits
+     */
+    @Override
+    protected int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+
+    /**
+     * Method to draw a normally distributed value with the polar method of {@link Random#nextGaussian()}.
+     *
+     * @return The next Gaussian value with mean 0 and standard deviation 1
+     */
+    @Override
+    public double nextGaussian() {
+        if (haveNextNextGaussian) {
+            haveNextNextGaussian = false;
+            return nextNextGaussian;
+        }
+        double v1;
+        double v2;
+        double s;
+        do {
+            v1 = 2 * nextDouble() - 1;
+            v2 = 2 * nextDouble() - 1;
+            s = v1 * v1 + v2 * v2;
+        } while (s >= 1 || s == 0);
+        double multiplier = StrictMath.sqrt(-2 * StrictMath.log(s) / s);
+        nextNextGaussian = v2 * multiplier;
+        haveNextNextGaussian = true;
+        return v1 * multiplier;
+    }
+
+    /**
+     * Method to write the state of the generator.
+     *
+     * @param out The stream to write to
+     * @throws IOException If the stream cannot be written
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        out.writeLong(state);
+        out.writeBoolean(haveNextNextGaussian);
+        out.writeDouble(nextNextGaussian);
+    }
+
+    /**
+     * Method to continue the sequence saved by {@link #writeState(DataOutput)}.
+     *
+     * @param in The stream to read from
+     * @throws IOException If the stream cannot be read or holds an invalid state
+     */
+    @Override
+    public void readState(DataInput in) throws IOException {
+        long savedState = in.readLong();
+        if ((savedState & ~MASK) != 0) {
+            throw new IOException("Invalid random number generator state");
+        }
+        state = savedState;
+        haveNextNextGaussian = in.readBoolean();
+        nextNextGaussian = in.readDouble();
+    }
+}
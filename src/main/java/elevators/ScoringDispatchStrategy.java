@@ -0,0 +1,42 @@
+package elevators;
+
+import java.util.List;
+
+/**
+ * This class represents a dispatch strategy which scores every candidate and selects the one with the lowest score.
+ * When scores are equal, the elevator that comes first in the list wins.
+ */
+public abstract class ScoringDispatchStrategy implements DispatchStrategy {
+    /**
+     * Method to select the candidate with the lowest score.
+     *
+     * @param request    The elevator request
+     * @param candidates The elevators which may handle the request
+     * @param controller The controller asking for the decision
+     * @return The elevator with the lowest score, or null if there are no candidates
+     */
+    @Override
+    public Elevator selectElevator(ElevatorRequest request, List<Elevator> candidates, ElevatorController controller) {
+        Elevator optimalElevator = null;
+        long bestScore = Long.MAX_VALUE;
+        for (int i = 0; i < candidates.size(); i++) {
+            Elevator elevator = candidates.get(i);
+            long score = computeScore(elevator, request, controller);
+            if (score < bestScore) {
+                bestScore = score;
+                optimalElevator = elevator;
+            }
+        }
+        return optimalElevator;
+    }
+
+    /**
+     * Method to compute a score for an elevator handling a given request.
+     *
+     * @param lift       The elevator being scored
+     * @param request    The elevator request
+     * @param controller The controller asking for the decision
+     * @return The score, lower is better
+     */
+    protected abstract long computeScore(Elevator lift, ElevatorRequest request, ElevatorController controller);
+}
@@ -0,0 +1,39 @@
+package elevators;
+
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * This interface represents the source of time used by the elevator simulation.
+ * The real-time implementation sleeps on the wall clock, while the virtual one only advances a counter.
+ */
+public interface SimulationClock {
+    /**
+     * Method to get the current time of the clock.
+     *
+     * @return The current time in milliseconds
+     */
+    long currentTimeMillis();
+
+    /**
+     * Method to let the specified amount of time pass.
+     *
+     * @param millis The number of milliseconds to wait
+     * @throws InterruptedException If the thread is interrupted while waiting
+     */
+    void sleep(long millis) throws InterruptedException;
+
+    /**
+     * Method to wait at most the specified time for an element of a queue.
+     * By default the time passes as with {@link #sleep(long)} and an element is taken if there is one.
+     *
+     * @param queue  The queue to take an element from
+     * @param millis The longest time to wait in milliseconds
+     * @param <T>    The type of the elements
+     * @return The element, or null if the queue stayed empty
+     * @throws InterruptedException If the thread is interrupted while waiting
+     */
+    default <T> T poll(BlockingQueue<T> queue, long millis) throws InterruptedException {
+        sleep(millis);
+        return queue.poll();
+    }
+}
@@ -0,0 +1,92 @@
+package elevators;
+
+/**
+ * This class represents a scheduled event of the discrete-event simulation.
+ */
+public class SimulationEvent implements Comparable<SimulationEvent> {
+    private final long time; // Simulated time at which the event fires
+    private final long sequence; // Tie-breaker keeping events at the same time in scheduling order
+    private final Type type; // The type of the event
+    private final int elevatorNumber; // The elevator the event belongs to, or -1
+    private final ElevatorRequest request; // Request of an arrival scheduled in advance, or null
+
+    // Enumeration for the type of the simulation event
+    public enum Type {
+        ARRIVAL,       // A new passenger appears on a floor
+        ELEVATOR_MOVE, // An elevator performs one step
+        DOOR_CLOSE,    // An elevator finishes its stop and may move again
+        REASSIGN,      // The controller re-evaluates the hall calls waiting for a car
+        PARK           // The controller moves idle cars to the floors where calls are expected
+    }
+
+    /**
+     * Constructor to initialize a simulation event.
+     *
+     * @param time           The simulated time of the event
+     * @param sequence       The scheduling order of the event
+     * @param type           The type of the event
+     * @param elevatorNumber The elevator the event belongs to, or -1 if none
+     */
+    public SimulationEvent(long time, long sequence, Type type, int elevatorNumber) {
+        this(time, sequence, type, elevatorNumber, null);
+    }
+
+    /**
+     * Constructor to initialize a simulation event carrying the request of an arrival.
+     *
+     * @param time           The simulated time of the event
+     * @param sequence       The scheduling order of the event
+     * @param type           The type of the event
+     * @param elevatorNumber The elevator the event belongs to, or -1 if none
+     * @param request        The request of the arriving passenger, or null to take it from the request source
+     */
+    public SimulationEvent(long time, long sequence, Type type, int elevatorNumber, ElevatorRequest request) {
+        this.time = time;
+        this.sequence = sequence;
+        this.type = type;
+        this.elevatorNumber = elevatorNumber;
+        this.request = request;
+    }
+
+    // Getter for time
+    public long getTime() {
+        return time;
+    }
+
+    // Getter for sequence
+    public long getSequence() {
+        return sequence;
+    }
+
+    // Getter for type
+    public Type getType() {
+        return type;
+    }
+
+    // Getter for elevatorNumber
+    public int getElevatorNumber() {
+        return elevatorNumber;
+    }
+
+    // Getter for request
+    public ElevatorRequest getRequest() {
+        return request;
+    }
+
+    /**
+     * Method to order events by time and then by scheduling order.
+     */
+    @Override
+    public int compareTo(SimulationEvent other) {
+        int result = Long.compare(time, other.time);
+        return result != 0 ? result : Long.compare(sequence, other.sequence);
+    }
+
+    /**
+     * Method to represent the simulation event as a string.
+     */
+    @Override
+    public String toString() {
+        return "(" + time + ", " + type + ", " + elevatorNumber + ")";
+    }
+}
@@ -0,0 +1,120 @@
+package elevators;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This class renders snapshots of the elevator system on its own thread at a limited frame rate.
+ * The controller publishes a snapshot only when the renderer is ready for the next frame, so ticks between
+ * frames cost nothing, and a publication never waits for the renderer: if a frame is still pending it is
+ * replaced. Each frame is built in one reusable buffer and written to the stream in a single call.
+ */
+public class SnapshotRenderer implements Runnable {
+    private final PrintStream out; // Stream the frames are written to
+    private final long frameNanos; // Shortest time between two frames
+    private final AtomicReference<SystemSnapshot> pending = new AtomicReference<>(); // Snapshot waiting to be rendered
+    private final StringBuilder frame = new StringBuilder(8192); // Reusable buffer of the current frame
+    private volatile long nextFrameNanos; // Earliest time of the next frame
+    private volatile boolean running; // Whether the rendering thread should keep going
+    private volatile Thread thread; // The rendering thread, or null if not started
+    private volatile long renderedFrames; // Number of frames written, only changed by the rendering thread
+
+    /**
+     * Constructor to create a renderer writing to the given stream.
+     *
+     * @param out         The stream the frames are written to
+     * @param frameMillis The shortest time between two frames in milliseconds
+     */
+    public SnapshotRenderer(PrintStream out, long frameMillis) {
+        this.out = out;
+        this.frameNanos = Math.max(0, frameMillis) * 1_000_000;
+    }
+
+    /**
+     * Method to check whether the renderer is ready for a new snapshot. It is cheap and never blocks.
+     *
+     * @return True if a snapshot published now would be rendered, otherwise false
+     */
+    public boolean wantsFrame() {
+        return running && pending.get() == null && System.nanoTime() - nextFrameNanos >= 0;
+    }
+
+    /**
+     * Method to hand a snapshot to the rendering thread, replacing a snapshot which was not rendered yet.
+     *
+     * @param snapshot The snapshot to render
+     */
+    public void publish(SystemSnapshot snapshot) {
+        pending.set(snapshot);
+        Thread renderingThread = thread;
+        if (renderingThread != null) {
+            LockSupport.unpark(renderingThread);
+        }
+    }
+
+    /**
+     * Method to start rendering on a new daemon thread.
+     */
+    public synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+        running = true;
+        nextFrameNanos = System.nanoTime();
+        Thread renderingThread = new Thread(this, "snapshot-renderer");
+        renderingThread.setDaemon(true);
+        thread = renderingThread;
+        renderingThread.start();
+    }
+
+    /**
+     * Method to stop the rendering thread after it has written the pending snapshot.
+     *
+     * @throws InterruptedException If the calling thread is interrupted while waiting
+     */
+    public synchronized void stop() throws InterruptedException {
+        Thread renderingThread = thread;
+        if (renderingThread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(renderingThread);
+        renderingThread.join();
+        thread = null;
+    }
+
+    // Getter for the number of frames written
+    public long getRenderedFrames() {
+        return renderedFrames;
+    }
+
+    /**
+     * Method run by the rendering thread: waits for snapshots and writes them.
+     */
+    @Override
+    public void run() {
+        while (running) {
+            if (!renderPending()) {
+                LockSupport.park(this);
+            }
+        }
+        renderPending();
+    }
+
+    // Writes the pending snapshot, returns false if there was none
+    private boolean renderPending() {
+        SystemSnapshot snapshot = pending.getAndSet(null);
+        if (snapshot == null) {
+            return false;
+        }
+        nextFrameNanos = System.nanoTime() + frameNanos;
+        frame.setLength(0);
+        snapshot.render(frame);
+        frame.append('\n');
+        out.print(frame);
+        out.flush();
+        ++renderedFrames;
+        return true;
+    }
+}
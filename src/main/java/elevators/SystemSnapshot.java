@@ -0,0 +1,160 @@
+package elevators;
+
+import java.util.List;
+
+/**
+ * This class represents an immutable copy of the state of the elevator system at one moment.
+ * It is captured on the thread running the controller and rendered as text on any other thread,
+ * so formatting never delays the controller.
+ */
+public final class SystemSnapshot {
+    private final long timeMillis; // Time of the controller's clock when the snapshot was taken
+    private final String[] createdRequests; // Requests created since the previous snapshot
+    private final int droppedRequests; // Number of created requests which were not kept
+    private final int[] carFloors; // Current floor of every car
+    private final Elevator.MotionState[] motionStates; // Direction of motion of every car
+    private final int[][] taskFloors; // Floors of the tasks of every car
+    private final int[][] taskPassengers; // Passenger IDs of the tasks of every car
+    private final ElementQueue.Purpose[][] taskPurposes; // Purposes of the tasks of every car
+    private final int[][] waitingTargets; // Target floors of the passengers waiting on every floor
+    private final int[][] waitingPassengers; // Passenger IDs of the passengers waiting on every floor
+
+    /**
+     * Constructor to copy the current state of a controller. It must be called on the thread running the controller.
+     *
+     * @param controller      The controller to copy
+     * @param createdRequests The requests created since the previous snapshot
+     * @param droppedRequests The number of created requests which were not kept
+     */
+    SystemSnapshot(ElevatorController controller, List<ElevatorRequest> createdRequests, int droppedRequests) {
+        timeMillis = controller.getClock().currentTimeMillis();
+        this.createdRequests = new String[createdRequests.size()];
+        for (int i = 0; i < this.createdRequests.length; i++) {
+            this.createdRequests[i] = createdRequests.get(i).toString();
+        }
+        this.droppedRequests = droppedRequests;
+
+        List<Elevator> cars = controller.getLiftList();
+        carFloors = new int[cars.size()];
+        motionStates = new Elevator.MotionState[cars.size()];
+        taskFloors = new int[cars.size()][];
+        taskPassengers = new int[cars.size()][];
+        taskPurposes = new ElementQueue.Purpose[cars.size()][];
+        for (int i = 0; i < cars.size(); i++) {
+            Elevator car = cars.get(i);
+            carFloors[i] = car.getCurrentFloor();
+            motionStates[i] = car.getMotionState();
+            TaskQueue tasks = car.getTaskQueue();
+            taskFloors[i] = new int[tasks.size()];
+            taskPassengers[i] = new int[tasks.size()];
+            taskPurposes[i] = new ElementQueue.Purpose[tasks.size()];
+            int k = 0;
+            for (ElementQueue task : tasks) {
+                taskFloors[i][k] = task.getFloor();
+                taskPassengers[i][k] = task.getIdPerson();
+                taskPurposes[i][k] = task.getPurpose();
+                ++k;
+            }
+        }
+
+        FloorBuffers floorBuffers = controller.getFloorBuffers();
+        waitingTargets = new int[floorBuffers.getTotalFloors()][];
+        waitingPassengers = new int[floorBuffers.getTotalFloors()][];
+        for (int floor = 1; floor <= waitingTargets.length; floor++) {
+            List<ElevatorRequest> waiting = floorBuffers.isEmpty(floor) ? List.of() : floorBuffers.snapshot(floor);
+            waitingTargets[floor - 1] = new int[waiting.size()];
+            waitingPassengers[floor - 1] = new int[waiting.size()];
+            for (int k = 0; k < waiting.size(); k++) {
+                waitingTargets[floor - 1][k] = waiting.get(k).getTargetFloor();
+                waitingPassengers[floor - 1][k] = waiting.get(k).getPassengerId();
+            }
+        }
+    }
+
+    // Getter for timeMillis
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    /**
+     * Method to write the snapshot as text in the layout of {@link ElevatorController#printSystemState1()}:
+     * the created requests, every car with its tasks, the people waiting on every floor and a picture of the shaft.
+     *
+     * @param out The builder to append to
+     */
+    public void render(StringBuilder out) {
+        for (String request : createdRequests) {
+            out.append("Created request: ").append(request).append('\n');
+        }
+        if (droppedRequests > 0) {
+            out.append("... and ").append(droppedRequests).append(" more requests\n");
+        }
+        if (createdRequests.length > 0) {
+            out.append('\n');
+        }
+
+        // Elevator information
+        out.append("Elevator Information:\n");
+        for (int i = 0; i < carFloors.length; i++) {
+            out.append("Elevator ").append(i).append(":\n");
+            out.append("  Current Floor: ").append(carFloors[i]).append('\n');
+            out.append("  Direction: ").append(motionStates[i]).append('\n');
+            out.append("  Requests:\n");
+            for (int k = 0; k < taskFloors[i].length; k++) {
+                out.append("    Floor: ").append(taskFloors[i][k]).append(", Passenger ID: ").append(taskPassengers[i][k])
+                        .append(", Purpose: ").append(taskPurposes[i][k]).append('\n');
+            }
+            out.append('\n');
+        }
+
+        // Floor buffer information
+        out.append("Information about people waiting on the floors:\n");
+        for (int floor = waitingTargets.length; floor >= 1; floor--) {
+            out.append("Floor ").append(floor).append(" Requests:\n");
+            for (int k = 0; k < waitingTargets[floor - 1].length; k++) {
+                out.append("  From Floor: ").append(floor).append(", To Floor: ").append(waitingTargets[floor - 1][k])
+                        .append(", Passenger ID: ").append(waitingPassengers[floor - 1][k]).append('\n');
+            }
+        }
+
+        // Visualization of the elevators and the floors
+        out.append("\nElevator Visualization:\n");
+        out.append("Floors        Elevators    People_on_the_floors");
+        for (int i = 0; i < carFloors.length; ++i) {
+            out.append("    id_of_people_in_").append(i).append("_elevator(and_where_is_he_going)");
+        }
+        out.append('\n');
+        for (int floor = waitingTargets.length; floor >= 1; floor--) {
+            out.append(String.format("Floor %2d:     ", floor));
+            for (int carFloor : carFloors) {
+                out.append(carFloor == floor ? "□ " : "| ");
+            }
+            out.append("         -");
+            int mark = out.length();
+            for (int k = 0; k < waitingTargets[floor - 1].length; k++) {
+                out.append('P');
+            }
+            pad(out, mark, 23);
+            if (floor == waitingTargets.length) {
+                for (int i = 0; i < carFloors.length; i++) {
+                    mark = out.length();
+                    for (int k = 0; k < taskFloors[i].length; k++) {
+                        if (taskPurposes[i][k] == ElementQueue.Purpose.Deliver) {
+                            out.append(taskPassengers[i][k]).append('(').append(taskFloors[i][k]).append(") ");
+                        }
+                    }
+                    pad(out, mark, 53);
+                }
+            }
+            out.append('\n');
+        }
+        out.append("\n\n\n\n\n\n\n");
+    }
+
+    // Pads the text appended since mark with spaces to the given width
+    private static void pad(StringBuilder out, int mark, int width) {
+        for (int i = out.length() - mark; i < width; i++) {
+            out.append(' ');
+        }
+    }
+}
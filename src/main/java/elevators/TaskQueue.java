@@ -0,0 +1,115 @@
+package elevators;
+
+/**
+ * This interface represents the queue of tasks of a single elevator, ordered by priority.
+ */
+public interface TaskQueue extends Iterable<ElementQueue> {
+    /**
+     * Method to add a task with the specified priority, floor, person ID, and purpose.
+     *
+     * @param priority The priority of the elevator task
+     * @param floor    The floor associated with the elevator task
+     * @param idPerson The ID of the person associated with the elevator task
+     * @param purpose  The purpose of the elevator task
+     */
+    void addElement(int priority, int floor, int idPerson, ElementQueue.Purpose purpose);
+
+    /**
+     * Method to retrieve and remove the highest-priority task.
+     *
+     * @return The highest-priority task, or null if the queue is empty
+     */
+    ElementQueue poll();
+
+    /**
+     * Method to retrieve, but not remove, the highest-priority task.
+     *
+     * @return The highest-priority task, or null if the queue is empty
+     */
+    ElementQueue peek();
+
+    /**
+     * Method to get the floor of the highest-priority task without creating any objects.
+     *
+     * @return The floor of the highest-priority task
+     * @throws java.util.NoSuchElementException If the queue is empty
+     */
+    int peekFloor();
+
+    /**
+     * Method to get the effective priority of the highest-priority task without creating any objects.
+     *
+     * @return The priority of the highest-priority task
+     * @throws java.util.NoSuchElementException If the queue is empty
+     */
+    int peekPriority();
+
+    /**
+     * Method to find the nearest floor above the given one which has a task.
+     *
+     * @param floor The floor to start from
+     * @return The nearest higher floor with a task, or -1 if there is none
+     */
+    int nextFloorAbove(int floor);
+
+    /**
+     * Method to find the nearest floor below the given one which has a task.
+     *
+     * @param floor The floor to start from
+     * @return The nearest lower floor with a task, or -1 if there is none
+     */
+    int nextFloorBelow(int floor);
+
+    /**
+     * Method to decrease the priorities of all tasks by a specified amount.
+     *
+     * @param decrement The amount by which to decrement the priorities
+     */
+    void updatePriorities(int decrement);
+
+    /**
+     * Method to check whether the queue holds any task for the specified floor.
+     *
+     * @param floor The floor to check
+     * @return True if there is at least one task for the floor, otherwise false
+     */
+    boolean hasFloor(int floor);
+
+    /**
+     * Method to remove all tasks for the specified floor.
+     *
+     * @param floor The floor value to match for removal
+     */
+    void removeAllWithValue(int floor);
+
+    /**
+     * Method to remove a single task, for example the pickup of a passenger who boarded another car.
+     *
+     * @param floor    The floor of the task
+     * @param idPerson The ID of the person of the task
+     * @param purpose  The purpose of the task
+     * @return True if a matching task was removed, false if there was none
+     */
+    boolean removeTask(int floor, int idPerson, ElementQueue.Purpose purpose);
+
+    /**
+     * Method to check if the queue is empty.
+     *
+     * @return True if the queue is empty, otherwise false
+     */
+    boolean isEmpty();
+
+    /**
+     * Method to get the number of tasks in the queue.
+     *
+     * @return The number of tasks
+     */
+    int size();
+
+    /**
+     * Method to rebuild the internal layout of the queue as if its tasks had been added to an empty queue
+     * in iteration order, dropping removed tasks. A queue restored from a checkpoint has this layout,
+     * so compacting before saving makes the restored queue break ties exactly like the saved one.
+     */
+    void compact();
+}
@@ -0,0 +1,331 @@
+package elevators;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * This class replays passenger requests recorded in a trace file.
+ * The file is streamed line by line through a fixed buffer, so traces of any size replay in constant memory.
+ * Two formats are understood, chosen by the file extension:
+ * <ul>
+ *     <li>CSV ({@code .csv} or anything else): {@code timestamp,startFloor,targetFloor,passengerId[,weightKg]},
+ *     with an optional header line;</li>
+ *     <li>JSON lines ({@code .jsonl} or {@code .json}): one object per line with the fields
+ *     {@code timestamp}, {@code startFloor}, {@code targetFloor}, {@code passengerId} and optionally {@code weightKg}.</li>
+ * </ul>
+ * Timestamps are in milliseconds and only their differences matter: the first request arrives immediately.
+ * Empty lines and lines starting with {@code #} are skipped. A timestamp earlier than the previous one
+ * is replayed without delay and counted as out of order.
+ */
+public class TraceRequestSource implements RequestSource, Runnable, Closeable, Checkpointable {
+    // Size of the read buffer in characters
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final Path path; // The trace file
+    private final int maxFloors; // Maximum number of floors in the building
+    private final BlockingQueue<ElevatorRequest> queue; // Buffer for storing elevator requests, or null
+    private final BufferedReader reader; // Stream of the lines of the trace
+    private final boolean jsonLines; // Whether the trace has one JSON object per line
+    private ElevatorRequest pendingRequest; // Request whose interval was returned but which was not taken yet
+    private long pendingInterval; // Interval before the pending request
+    private long previousTimestamp = Long.MIN_VALUE; // Latest timestamp read so far
+    private long lineNumber; // Number of the last line read
+    private long records; // Number of requests read
+    private long outOfOrderRecords; // Number of requests with a timestamp earlier than the previous one
+    private boolean exhausted; // Whether the end of the file was reached
+
+    /**
+     * Constructor to open a trace file for a discrete-event simulation.
+     *
+     * @param path      The trace file
+     * @param maxFloors Maximum number of floors in the building
+     * @throws IOException If the file cannot be opened
+     */
+    public TraceRequestSource(Path path, int maxFloors) throws IOException {
+        this(path, maxFloors, null);
+    }
+
+    /**
+     * Constructor to open a trace file which is replayed in real time into a request buffer.
+     *
+     * @param path      The trace file
+     * @param maxFloors Maximum number of floors in the building
+     * @param queue     Buffer for storing elevator requests
+     * @throws IOException If the file cannot be opened
+     */
+    public TraceRequestSource(Path path, int maxFloors, BlockingQueue<ElevatorRequest> queue) throws IOException {
+        this.path = path;
+        this.maxFloors = maxFloors;
+        this.queue = queue;
+        this.reader = new BufferedReader(new InputStreamReader(Files.newInputStream(path), StandardCharsets.UTF_8), BUFFER_SIZE);
+        String name = path.getFileName().toString().toLowerCase();
+        this.jsonLines = name.endsWith(".jsonl") || name.endsWith(".json");
+    }
+
+    // Getter for the number of requests read so far
+    public long getRecords() {
+        return records;
+    }
+
+    // Getter for the number of requests with a timestamp earlier than the previous one
+    public long getOutOfOrderRecords() {
+        return outOfOrderRecords;
+    }
+
+    /**
+     * Method to read the next request of the trace and get the time since the previous one.
+     *
+     * @return The interval in milliseconds, or -1 at the end of the trace
+     */
+    @Override
+    public long nextIntervalMillis() {
+        if (pendingRequest == null && !readRecord()) {
+            return -1;
+        }
+        return pendingInterval;
+    }
+
+    /**
+     * Method to take the request whose interval was returned last.
+     *
+     * @return The next request of the trace
+     */
+    @Override
+    public ElevatorRequest nextRequest() {
+        if (pendingRequest == null && !readRecord()) {
+            throw new NoSuchElementException("End of trace " + path);
+        }
+        ElevatorRequest request = pendingRequest;
+        pendingRequest = null;
+        return request;
+    }
+
+    /**
+     * Method to run the replay thread, putting every request into the buffer at its recorded time.
+     * The thread ends at the end of the trace or when it is interrupted, and closes the file.
+     */
+    @Override
+    public void run() {
+        try {
+            long interval;
+            while (!Thread.currentThread().isInterrupted() && (interval = nextIntervalMillis()) >= 0) {
+                // Wait until the recorded arrival time of the request
+                Thread.sleep(interval);
+                ElevatorRequest request = nextRequest();
+                request.setCreatedMillis(System.currentTimeMillis());
+                queue.put(request);
+            }
+        } catch (InterruptedException e) {
+            // Interrupt the current thread if interrupted during sleep
+            Thread.currentThread().interrupt();
+        } finally {
+            try {
+                close();
+            } catch (IOException e) {
+                System.err.println("Error closing trace " + path + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Method to close the trace file.
+     *
+     * @throws IOException If the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        exhausted = true;
+        reader.close();
+    }
+
+    /**
+     * Method to write the position in the trace: the number of records read and whether the last one is pending.
+     * The trace file itself is not written, so it must still exist when the state is restored.
+     *
+     * @param out The stream to write to
+     * @throws IOException If the stream cannot be written
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        out.writeLong(records);
+        out.writeBoolean(pendingRequest != null);
+    }
+
+    /**
+     * Method to skip the records which were already replayed when the state was written.
+     * The source must be newly opened on the same trace.
+     *
+     * @param in The stream to read from
+     * @throws IOException If the stream cannot be read or the trace is shorter than the saved position
+     */
+    @Override
+    public void readState(DataInput in) throws IOException {
+        long target = in.readLong();
+        boolean pending = in.readBoolean();
+        if (records != 0) {
+            throw new IllegalStateException("Trace " + path + " has already been read");
+        }
+        while (records < target) {
+            pendingRequest = null;
+            if (!readRecord()) {
+                throw new IOException("Trace " + path + " has fewer than " + target + " records");
+            }
+        }
+        if (!pending) {
+            pendingRequest = null;
+        }
+    }
+
+    // Reads the next record into pendingRequest, returns false at the end of the trace
+    private boolean readRecord() {
+        if (exhausted) {
+            return false;
+        }
+        String line;
+        try {
+            while ((line = reader.readLine()) != null) {
+                ++lineNumber;
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.charAt(0) == '#') {
+                    continue;
+                }
+                if (!jsonLines && records == 0 && !isNumberStart(trimmed.charAt(0))) {
+                    // Header line of a CSV trace
+                    continue;
+                }
+                long[] fields = jsonLines ? parseJson(trimmed) : parseCsv(trimmed);
+                accept(fields);
+                return true;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading trace " + path, e);
+        }
+        exhausted = true;
+        return false;
+    }
+
+    // Turns the fields of a record into the pending request and its interval
+    private void accept(long[] fields) {
+        long timestamp = fields[0];
+        // Checked before narrowing, so out-of-range values are not wrapped into valid ones
+        if (fields[1] < 1 || fields[1] > maxFloors || fields[2] < 1 || fields[2] > maxFloors || fields[1] == fields[2]) {
+            throw error("Invalid floors " + fields[1] + " -> " + fields[2]);
+        }
+        if (fields[3] < Integer.MIN_VALUE || fields[3] > Integer.MAX_VALUE) {
+            throw error("Passenger ID out of range: " + fields[3]);
+        }
+        if (fields[4] > Integer.MAX_VALUE) {
+            throw error("Weight out of range: " + fields[4]);
+        }
+        int startFloor = (int) fields[1];
+        int targetFloor = (int) fields[2];
+        if (previousTimestamp == Long.MIN_VALUE) {
+            pendingInterval = 0;
+            previousTimestamp = timestamp;
+        } else if (timestamp < previousTimestamp) {
+            pendingInterval = 0;
+            ++outOfOrderRecords;
+        } else {
+            pendingInterval = timestamp - previousTimestamp;
+            previousTimestamp = timestamp;
+        }
+        pendingRequest = new ElevatorRequest(startFloor, targetFloor, (int) fields[3]);
+        if (fields[4] > 0) {
+            pendingRequest.setWeightKg((int) fields[4]);
+        }
+        ++records;
+    }
+
+    // Parses a CSV line into timestamp, start floor, target floor, passenger ID and weight (0 if missing)
+    private long[] parseCsv(String line) {
+        long[] fields = new long[5];
+        int count = 0;
+        int from = 0;
+        while (from <= line.length() && count < fields.length) {
+            int to = line.indexOf(',', from);
+            if (to < 0) {
+                to = line.length();
+            }
+            fields[count++] = parseLong(line, from, to);
+            from = to + 1;
+        }
+        if (count < 4) {
+            throw error("Expected timestamp,startFloor,targetFloor,passengerId");
+        }
+        return fields;
+    }
+
+    // Parses a JSON object into timestamp, start floor, target floor, passenger ID and weight (0 if missing)
+    private long[] parseJson(String line) {
+        return new long[]{
+                jsonField(line, "timestamp", true),
+                jsonField(line, "startFloor", true),
+                jsonField(line, "targetFloor", true),
+                jsonField(line, "passengerId", true),
+                jsonField(line, "weightKg", false)
+        };
+    }
+
+    // Finds a numeric field of a flat JSON object, which may also be written as a string
+    private long jsonField(String line, String name, boolean required) {
+        int key = line.indexOf("\"" + name + "\"");
+        if (key < 0) {
+            if (required) {
+                throw error("Missing field " + name);
+            }
+            return 0;
+        }
+        int from = line.indexOf(':', key + name.length() + 2);
+        if (from < 0) {
+            throw error("Missing value of " + name);
+        }
+        ++from;
+        while (from < line.length() && (line.charAt(from) == ' ' || line.charAt(from) == '"')) {
+            ++from;
+        }
+        int to = from;
+        while (to < line.length() && (isNumberStart(line.charAt(to)) || line.charAt(to) == '.')) {
+            ++to;
+        }
+        return parseLong(line, from, to);
+    }
+
+    // Parses an integer between two positions of a line, ignoring surrounding spaces and a fractional part
+    private long parseLong(String line, int from, int to) {
+        while (from < to && Character.isWhitespace(line.charAt(from))) {
+            ++from;
+        }
+        while (to > from && Character.isWhitespace(line.charAt(to - 1))) {
+            --to;
+        }
+        int dot = line.indexOf('.', from);
+        if (dot >= 0 && dot < to) {
+            to = dot;
+        }
+        try {
+            return Long.parseLong(line, from, to, 10);
+        } catch (NumberFormatException e) {
+            throw error("Invalid number '" + line.substring(from, to) + "'");
+        }
+    }
+
+    // Checks whether a character can start a number
+    private static boolean isNumberStart(char c) {
+        return (c >= '0' && c <= '9') || c == '-';
+    }
+
+    // Creates an exception pointing at the current line of the trace
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(path + ":" + lineNumber + ": " + message);
+    }
+}
@@ -0,0 +1,257 @@
+package elevators;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * This class generates building traffic following a {@link TrafficSchedule}.
+ * Arrivals form a Poisson process whose rate follows the schedule, sampled by thinning, so there is no
+ * lower bound on the interval between requests. Start and target floors follow the traffic pattern of the
+ * current phase: trips from and to the lobby, and trips between the other floors weighted by their population.
+ * All randomness comes from one seed, so runs are reproducible.
+ */
+public class TrafficGenerator implements RequestSource, Runnable, Checkpointable {
+    // Number of attempts to draw a target floor different from the start floor before falling back to uniform
+    private static final int MAX_DRAWS = 16;
+
+    private final int maxFloors; // Maximum number of floors in the building
+    private final BlockingQueue<ElevatorRequest> queue; // Buffer for storing elevator requests, or null
+    private final TrafficSchedule schedule; // Pattern and rate of the traffic over time
+    private final RestorableRandom random; // Random number generator
+    private int lobbyFloor = 1; // Floor of the main entrance
+    private double[] cumulativeWeights; // Cumulative population of the floors, index floor - 1
+    private double timeMillis; // Time of the last arrival since the start of the schedule, with fractions
+    private long emittedMillis; // Time of the last arrival rounded down to milliseconds
+    private TrafficPattern pendingPattern; // Pattern in effect at the time of the next arrival
+    private int requestId; // ID for each request
+
+    /**
+     * Constructor to initialize a generator for a discrete-event simulation.
+     *
+     * @param maxFloors Maximum number of floors in the building
+     * @param schedule  Pattern and rate of the traffic over time
+     * @param seed      Seed of the random number generator
+     */
+    public TrafficGenerator(int maxFloors, TrafficSchedule schedule, long seed) {
+        this(maxFloors, null, schedule, seed);
+    }
+
+    /**
+     * Constructor to initialize a generator which puts requests into a buffer in real time.
+     *
+     * @param maxFloors Maximum number of floors in the building
+     * @param queue     Buffer for storing elevator requests
+     * @param schedule  Pattern and rate of the traffic over time
+     * @param seed      Seed of the random number generator
+     */
+    public TrafficGenerator(int maxFloors, BlockingQueue<ElevatorRequest> queue, TrafficSchedule schedule, long seed) {
+        if (maxFloors < 2) {
+            throw new IllegalArgumentException("Traffic needs at least two floors: " + maxFloors);
+        }
+        this.maxFloors = maxFloors;
+        this.queue = queue;
+        this.schedule = schedule;
+        this.random = new RestorableRandom(seed);
+        double[] weights = new double[maxFloors];
+        Arrays.fill(weights, 1);
+        setFloorWeights(weights);
+    }
+
+    // Getter for lobbyFloor
+    public int getLobbyFloor() {
+        return lobbyFloor;
+    }
+
+    // Setter for lobbyFloor
+    public void setLobbyFloor(int lobbyFloor) {
+        if (lobbyFloor < 1 || lobbyFloor > maxFloors) {
+            throw new IllegalArgumentException("Lobby outside the building: " + lobbyFloor);
+        }
+        this.lobbyFloor = lobbyFloor;
+    }
+
+    /**
+     * Method to set the population of the floors, which weights the choice of floors other than the lobby.
+     *
+     * @param weights The population of each floor, index floor - 1; the weight of the lobby is ignored
+     */
+    public void setFloorWeights(double[] weights) {
+        if (weights.length != maxFloors) {
+            throw new IllegalArgumentException("Expected " + maxFloors + " weights, got " + weights.length);
+        }
+        cumulativeWeights = new double[maxFloors];
+        double sum = 0;
+        for (int i = 0; i < maxFloors; i++) {
+            if (weights[i] < 0) {
+                throw new IllegalArgumentException("Weight of floor " + (i + 1) + " is negative");
+            }
+            sum += weights[i];
+            cumulativeWeights[i] = sum;
+        }
+        if (sum <= 0) {
+            throw new IllegalArgumentException("At least one floor must have a population");
+        }
+    }
+
+    /**
+     * Method to set the time of the schedule at which the generator starts, for example 7 hours
+     * to start an office day at 07:00.
+     *
+     * @param startMillis The start time within the schedule
+     */
+    public void setStartMillis(long startMillis) {
+        timeMillis = startMillis;
+        emittedMillis = startMillis;
+    }
+
+    /**
+     * Method to pick the interval before the next arrival by thinning a Poisson process with the
+     * highest rate of the schedule.
+     *
+     * @return The interval in milliseconds, or -1 if the schedule has no traffic at all
+     */
+    @Override
+    public long nextIntervalMillis() {
+        double maxRatePerMilli = schedule.getMaxRatePerMinute() / 60000;
+        if (maxRatePerMilli <= 0) {
+            return -1;
+        }
+        while (true) {
+            timeMillis += -Math.log(1 - random.nextDouble()) / maxRatePerMilli;
+            TrafficSchedule.Phase phase = schedule.phaseAt((long) timeMillis);
+            if (random.nextDouble() * schedule.getMaxRatePerMinute() < phase.getRatePerMinute()) {
+                pendingPattern = phase.getPattern();
+                long arrival = (long) timeMillis;
+                long interval = arrival - emittedMillis;
+                emittedMillis = arrival;
+                return interval;
+            }
+        }
+    }
+
+    /**
+     * Method to create the request of the next arrival following the pattern in effect at its time.
+     *
+     * @return The new elevator request
+     */
+    @Override
+    public ElevatorRequest nextRequest() {
+        TrafficPattern pattern = pendingPattern != null ? pendingPattern : schedule.phaseAt((long) timeMillis).getPattern();
+        pendingPattern = null;
+        int startFloor;
+        int targetFloor;
+        if (pattern == TrafficPattern.UNIFORM) {
+            startFloor = random.nextInt(maxFloors) + 1;
+            targetFloor = uniformFloorExcept(startFloor);
+        } else {
+            double draw = random.nextDouble();
+            if (draw < pattern.getIncoming()) {
+                startFloor = lobbyFloor;
+                targetFloor = populatedFloorExcept(lobbyFloor);
+            } else if (draw < pattern.getIncoming() + pattern.getOutgoing()) {
+                startFloor = populatedFloorExcept(lobbyFloor);
+                targetFloor = lobbyFloor;
+            } else {
+                startFloor = populatedFloorExcept(-1);
+                targetFloor = populatedFloorExcept(startFloor);
+            }
+        }
+        return new ElevatorRequest(startFloor, targetFloor, requestId++);
+    }
+
+    /**
+     * Method to run the generator thread, putting every request into the buffer at its scheduled time.
+     * Arrival times are kept against the wall clock, so sleeping late does not lower the rate.
+     */
+    @Override
+    public void run() {
+        long startMillis = System.currentTimeMillis();
+        long generatedMillis = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                long interval = nextIntervalMillis();
+                if (interval < 0) {
+                    break;
+                }
+                generatedMillis += interval;
+                long delay = startMillis + generatedMillis - System.currentTimeMillis();
+                if (delay > 0) {
+                    Thread.sleep(delay);
+                }
+                ElevatorRequest request = nextRequest();
+                request.setCreatedMillis(System.currentTimeMillis());
+                queue.put(request);
+            } catch (InterruptedException e) {
+                // Interrupt the current thread if interrupted during sleep
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Method to write the state of the random number generator, the time of the schedule and the next passenger ID.
+     *
+     * @param out The stream to write to
+     * @throws IOException If the stream cannot be written
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        random.writeState(out);
+        out.writeDouble(timeMillis);
+        out.writeLong(emittedMillis);
+        out.writeInt(pendingPattern == null ? -1 : pendingPattern.ordinal());
+        out.writeInt(requestId);
+    }
+
+    /**
+     * Method to continue the traffic saved by {@link #writeState(DataOutput)}.
+     *
+     * @param in The stream to read from
+     * @throws IOException If the stream cannot be read or holds an invalid state
+     */
+    @Override
+    public void readState(DataInput in) throws IOException {
+        random.readState(in);
+        timeMillis = in.readDouble();
+        emittedMillis = in.readLong();
+        TrafficPattern[] patterns = TrafficPattern.values();
+        int pattern = Checkpoint.readInt(in, "traffic pattern", -1, patterns.length - 1);
+        pendingPattern = pattern < 0 ? null : patterns[pattern];
+        requestId = in.readInt();
+    }
+
+    // Draws a floor other than the lobby weighted by population, different from the excluded one
+    private int populatedFloorExcept(int excluded) {
+        for (int attempt = 0; attempt < MAX_DRAWS; attempt++) {
+            double draw = random.nextDouble() * cumulativeWeights[maxFloors - 1];
+            // Binary search for the first floor whose cumulative weight exceeds the draw
+            int low = 0;
+            int high = maxFloors - 1;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (cumulativeWeights[middle] > draw) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+            int floor = low + 1;
+            if (floor != excluded && floor != lobbyFloor) {
+                return floor;
+            }
+        }
+        return uniformFloorExcept(excluded);
+    }
+
+    // Draws a floor uniformly, different from the excluded one
+    private int uniformFloorExcept(int excluded) {
+        int floor;
+        do {
+            floor = random.nextInt(maxFloors) + 1;
+        } while (floor == excluded);
+        return floor;
+    }
+}
@@ -0,0 +1,47 @@
+package elevators;
+
+/**
+ * Enumeration of the typical kinds of traffic in an office building, given by the share of passengers
+ * entering from the lobby, leaving to the lobby and travelling between the other floors.
+ */
+public enum TrafficPattern {
+    UP_PEAK(0.85, 0.05),     // Morning arrivals going up from the lobby
+    DOWN_PEAK(0.05, 0.85),   // Evening departures going down to the lobby
+    LUNCH(0.45, 0.45),       // Two-way traffic to and from the lobby around lunch
+    INTER_FLOOR(0.05, 0.05), // Mostly trips between the upper floors
+    UNIFORM(0, 0);           // Start and target floors chosen uniformly, like RequestGenerator
+
+    private final double incoming; // Share of trips from the lobby to an upper floor
+    private final double outgoing; // Share of trips from an upper floor to the lobby
+
+    TrafficPattern(double incoming, double outgoing) {
+        this.incoming = incoming;
+        this.outgoing = outgoing;
+    }
+
+    // Getter for incoming
+    public double getIncoming() {
+        return incoming;
+    }
+
+    // Getter for outgoing
+    public double getOutgoing() {
+        return outgoing;
+    }
+
+    /**
+     * Method to find a pattern by its name, ignoring case, dashes and underscores.
+     *
+     * @param name The name, for example "up-peak" or "interfloor"
+     * @return The pattern
+     */
+    public static TrafficPattern forName(String name) {
+        String key = name.replace("-", "").replace("_", "").toUpperCase();
+        for (TrafficPattern pattern : values()) {
+            if (pattern.name().replace("_", "").equals(key)) {
+                return pattern;
+            }
+        }
+        throw new IllegalArgumentException("Unknown traffic pattern: " + name);
+    }
+}
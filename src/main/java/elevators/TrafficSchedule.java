@@ -0,0 +1,158 @@
+package elevators;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class represents how the traffic pattern and the arrival rate change over time.
+ * The schedule is a sequence of phases, each starting at a time within a period and lasting until
+ * the next one; the last phase lasts until the end of the period, after which the schedule repeats.
+ */
+public class TrafficSchedule {
+    // Length of a day in milliseconds
+    public static final long DAY_MILLIS = 24 * 3600 * 1000L;
+
+    private final long periodMillis; // Length of one repetition of the schedule
+    private final List<Phase> phases = new ArrayList<>(); // Phases ordered by start time
+    private double maxRatePerMinute; // Highest arrival rate of all phases
+
+    /**
+     * This class represents a part of the schedule with constant traffic.
+     */
+    public static final class Phase {
+        private final long startMillis; // Start of the phase within the period
+        private final TrafficPattern pattern; // Kind of traffic during the phase
+        private final double ratePerMinute; // Mean number of arrivals per minute during the phase
+
+        Phase(long startMillis, TrafficPattern pattern, double ratePerMinute) {
+            this.startMillis = startMillis;
+            this.pattern = pattern;
+            this.ratePerMinute = ratePerMinute;
+        }
+
+        // Getter for startMillis
+        public long getStartMillis() {
+            return startMillis;
+        }
+
+        // Getter for pattern
+        public TrafficPattern getPattern() {
+            return pattern;
+        }
+
+        // Getter for ratePerMinute
+        public double getRatePerMinute() {
+            return ratePerMinute;
+        }
+    }
+
+    /**
+     * Constructor to create an empty schedule repeating with the given period.
+     *
+     * @param periodMillis The length of one repetition in milliseconds
+     */
+    public TrafficSchedule(long periodMillis) {
+        if (periodMillis <= 0) {
+            throw new IllegalArgumentException("Period must be positive: " + periodMillis);
+        }
+        this.periodMillis = periodMillis;
+    }
+
+    /**
+     * Method to create a schedule with the same traffic all the time.
+     *
+     * @param pattern       The kind of traffic
+     * @param ratePerMinute The mean number of arrivals per minute
+     * @return The new schedule
+     */
+    public static TrafficSchedule constant(TrafficPattern pattern, double ratePerMinute) {
+        TrafficSchedule schedule = new TrafficSchedule(DAY_MILLIS);
+        schedule.addPhase(0, pattern, ratePerMinute);
+        return schedule;
+    }
+
+    /**
+     * Method to create the schedule of a working day in an office building: quiet nights, a morning up-peak,
+     * inter-floor traffic during the day, a lunch peak and an evening down-peak. Rates are given relative
+     * to the peak rate.
+     *
+     * @param peakRatePerMinute The arrival rate of the peaks per minute
+     * @return The new schedule, starting at midnight
+     */
+    public static TrafficSchedule officeDay(double peakRatePerMinute) {
+        TrafficSchedule schedule = new TrafficSchedule(DAY_MILLIS);
+        schedule.addPhase(hours(0), TrafficPattern.INTER_FLOOR, peakRatePerMinute * 0.02);
+        schedule.addPhase(hours(7), TrafficPattern.UP_PEAK, peakRatePerMinute * 0.4);
+        schedule.addPhase(hours(8), TrafficPattern.UP_PEAK, peakRatePerMinute);
+        schedule.addPhase(hours(9.5), TrafficPattern.INTER_FLOOR, peakRatePerMinute * 0.3);
+        schedule.addPhase(hours(11.75), TrafficPattern.LUNCH, peakRatePerMinute * 0.8);
+        schedule.addPhase(hours(13.5), TrafficPattern.INTER_FLOOR, peakRatePerMinute * 0.3);
+        schedule.addPhase(hours(16.5), TrafficPattern.DOWN_PEAK, peakRatePerMinute);
+        schedule.addPhase(hours(18.5), TrafficPattern.INTER_FLOOR, peakRatePerMinute * 0.1);
+        schedule.addPhase(hours(21), TrafficPattern.INTER_FLOOR, peakRatePerMinute * 0.02);
+        return schedule;
+    }
+
+    /**
+     * Method to append a phase to the schedule. Phases must be added in the order of their start times.
+     *
+     * @param startMillis   The start of the phase within the period
+     * @param pattern       The kind of traffic during the phase
+     * @param ratePerMinute The mean number of arrivals per minute during the phase
+     */
+    public void addPhase(long startMillis, TrafficPattern pattern, double ratePerMinute) {
+        if (startMillis < 0 || startMillis >= periodMillis) {
+            throw new IllegalArgumentException("Phase start outside the period: " + startMillis);
+        }
+        if (!phases.isEmpty() && startMillis <= phases.get(phases.size() - 1).getStartMillis()) {
+            throw new IllegalArgumentException("Phases must be added in order of start time");
+        }
+        if (ratePerMinute < 0) {
+            throw new IllegalArgumentException("Rate must not be negative: " + ratePerMinute);
+        }
+        phases.add(new Phase(startMillis, pattern, ratePerMinute));
+        maxRatePerMinute = Math.max(maxRatePerMinute, ratePerMinute);
+    }
+
+    /**
+     * Method to find the phase in effect at the given time. Before the first phase of a period,
+     * the last phase of the previous period is still in effect.
+     *
+     * @param timeMillis The time since the start of the schedule
+     * @return The phase, or null if the schedule is empty
+     */
+    public Phase phaseAt(long timeMillis) {
+        if (phases.isEmpty()) {
+            return null;
+        }
+        long offset = Math.floorMod(timeMillis, periodMillis);
+        int low = 0;
+        int high = phases.size() - 1;
+        // Binary search for the last phase starting at or before the offset
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (phases.get(middle).getStartMillis() <= offset) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        Phase phase = phases.get(low);
+        return phase.getStartMillis() <= offset ? phase : phases.get(phases.size() - 1);
+    }
+
+    // Getter for maxRatePerMinute
+    public double getMaxRatePerMinute() {
+        return maxRatePerMinute;
+    }
+
+    // Getter for periodMillis
+    public long getPeriodMillis() {
+        return periodMillis;
+    }
+
+    // Converts hours to milliseconds
+    private static long hours(double hours) {
+        return Math.round(hours * 3600 * 1000);
+    }
+}
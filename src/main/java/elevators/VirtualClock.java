@@ -0,0 +1,56 @@
+package elevators;
+
+/**
+ * This class represents a simulated clock which only moves when it is told to.
+ */
+public class VirtualClock implements SimulationClock {
+    private long currentTime; // The current simulated time in milliseconds
+
+    /**
+     * Constructor to initialize the virtual clock at time zero.
+     */
+    public VirtualClock() {
+        this(0);
+    }
+
+    /**
+     * Constructor to initialize the virtual clock at the specified time.
+     *
+     * @param startTime The initial simulated time in milliseconds
+     */
+    public VirtualClock(long startTime) {
+        this.currentTime = startTime;
+    }
+
+    /**
+     * Method to get the current simulated time.
+     *
+     * @return The current time in milliseconds
+     */
+    @Override
+    public long currentTimeMillis() {
+        return currentTime;
+    }
+
+    /**
+     * Method to advance the clock by the specified time without blocking.
+     *
+     * @param millis The number of milliseconds to advance
+     */
+    @Override
+    public void sleep(long millis) {
+        currentTime += millis;
+    }
+
+    /**
+     * Method to move the clock forward to the specified time.
+     *
+     * @param time The new simulated time in milliseconds
+     */
+    public void advanceTo(long time) {
+        if (time < currentTime) {
+            throw new IllegalArgumentException("Virtual clock cannot move backwards: " + time + " < " + currentTime);
+        }
+        currentTime = time;
+    }
+}
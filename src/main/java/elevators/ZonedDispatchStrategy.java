@@ -0,0 +1,62 @@
+package elevators;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class represents a zoned dispatch strategy. The building is split into contiguous zones of floors
+ * and every elevator belongs to one zone (elevator i to zone i modulo the number of zones). A call is
+ * served by the elevators of the zone of its start floor, chosen among them by another strategy.
+ */
+public class ZonedDispatchStrategy implements DispatchStrategy {
+    private final DispatchStrategy delegate; // Strategy choosing inside a zone
+    private final int zones; // Number of zones, or 0 for one zone per elevator
+    private final List<Elevator> zoneCandidates = new ArrayList<>(); // Reusable list of elevators of a zone
+
+    /**
+     * Constructor to initialize the strategy with one zone per elevator.
+     *
+     * @param delegate The strategy choosing among the elevators of a zone
+     */
+    public ZonedDispatchStrategy(DispatchStrategy delegate) {
+        this(delegate, 0);
+    }
+
+    /**
+     * Constructor to initialize the strategy with a fixed number of zones.
+     *
+     * @param delegate The strategy choosing among the elevators of a zone
+     * @param zones    The number of zones
+     */
+    public ZonedDispatchStrategy(DispatchStrategy delegate, int zones) {
+        this.delegate = delegate;
+        this.zones = zones;
+    }
+
+    /**
+     * Method to select an elevator of the zone of the request's start floor.
+     * If no candidate belongs to that zone, all candidates are considered.
+     *
+     * @param request    The elevator request
+     * @param candidates The elevators which may handle the request
+     * @param controller The controller asking for the decision
+     * @return The selected elevator, or null if there are no candidates
+     */
+    @Override
+    public Elevator selectElevator(ElevatorRequest request, List<Elevator> candidates, ElevatorController controller) {
+        int totalFloors = controller.getTotalFloors();
+        int zoneCount = Math.max(1, Math.min(zones > 0 ? zones : controller.getLiftList().size(), totalFloors));
+        int zone = (int) ((long) (request.getStartFloor() - 1) * zoneCount / totalFloors);
+
+        zoneCandidates.clear();
+        for (int i = 0; i < candidates.size(); i++) {
+            Elevator elevator = candidates.get(i);
+            if (elevator.getElevatorNumber() % zoneCount == zone) {
+                zoneCandidates.add(elevator);
+            }
+        }
+        Elevator selected = delegate.selectElevator(request, zoneCandidates.isEmpty() ? candidates : zoneCandidates, controller);
+        zoneCandidates.clear();
+        return selected;
+    }
+}